@@ -0,0 +1,4 @@
+-- Composite index behind the keyset listings of a type (/posts oldest first, /feed newest first).
+-- ddl-auto: update creates it too, but on a large table build it ahead of the deploy without blocking writes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_interests_type_created_id
+    ON user_interests (interest_type, created_at, id);
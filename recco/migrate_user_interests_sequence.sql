@@ -0,0 +1,6 @@
+-- UserInterest.id moved from IDENTITY to a pooled sequence (allocationSize = 50) so inserts can be batched.
+-- Run once before deploying; the increment must match allocationSize.
+CREATE SEQUENCE IF NOT EXISTS user_interests_seq INCREMENT BY 50;
+
+-- Start past every existing id (works whether Hibernate treats the value as the low or high end of a block)
+SELECT setval('user_interests_seq', COALESCE((SELECT MAX(id) FROM user_interests), 0) + 50, false);
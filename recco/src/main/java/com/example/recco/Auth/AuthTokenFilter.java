@@ -1,6 +1,9 @@
 package com.example.recco.Auth;
 
 import com.example.recco.Service.UserService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,16 +24,32 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     @Autowired private com.example.recco.Auth.JwtUtils jwtUtils;
     @Autowired private UserService userService;
+    @Autowired private PrincipalCache principalCache;
+
+    // recco.auth.filter{phase}: token verification vs. resolving the principal
+    private Timer jwtTimer;
+    private Timer principalTimer;
+
+    @Autowired
+    void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.jwtTimer = Timer.builder("recco.auth.filter").tag("phase", "jwt").register(meterRegistry);
+        this.principalTimer = Timer.builder("recco.auth.filter").tag("phase", "principal").register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            // Already authenticated earlier in this request - don't parse the token or resolve the user twice
+            boolean authenticated = SecurityContextHolder.getContext().getAuthentication() != null;
+
+            String jwt = authenticated ? null : parseJwt(request);
+            Claims claims = jwt != null ? jwtTimer.record(() -> jwtUtils.verify(jwt).orElse(null)) : null;
+            if (claims != null) {
+                String username = claims.getSubject();
 
-                UserDetails userDetails = userService.loadUserByUsername(username);
+                UserDetails userDetails = principalTimer.record(
+                        () -> principalCache.get(username, userService::loadUserByUsername));
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -0,0 +1,25 @@
+package com.example.recco.Auth;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The password hashing pool and its queue are full. Mapped to 503 with Retry-After.
+ */
+public class HashingPoolSaturatedException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public HashingPoolSaturatedException(long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent sign-ins, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -1,47 +1,134 @@
 package com.example.recco.Auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class JwtUtils {
+public class JwtUtils implements MeterBinder {
     private final String jwtSecret = "your_very_secret_key_recco_app_2024_secure_string";
     private final int jwtExpirationMs = 86400000;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    // Key and parser are immutable and thread-safe, so build them once
+    private final SecretKey signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // SHA-256 digest of recently verified tokens -> claims, each entry expires at the token's exp
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtUtils(@Value("${recco.jwt.verified-cache.max-size:10000}") long verifiedCacheSize) {
+        this.verifiedTokens = verifiedCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheSize)
+                        .expireAfter(new Expiry<String, Claims>() {
+                            @Override
+                            public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                                return untilExpiration(claims);
+                            }
+
+                            @Override
+                            public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                                return untilExpiration(claims);
+                            }
+
+                            @Override
+                            public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                                return currentDuration;
+                            }
+                        })
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or empty if it is invalid or expired.
+     */
+    public Optional<Claims> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Claims> claims = parse(token);
+        claims.ifPresent(c -> verifiedTokens.put(digest, c));
+        return claims;
     }
 
     // This must match the name used in the Filter
     public boolean validateJwtToken(String authToken) {
-        try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(authToken).isPresent();
     }
 
     // This must match the name used in the Filter
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return verify(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
     }
 
     public String generateToken(String email) {
+        Date now = new Date();
         return Jwts.builder()
                 .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (verifiedTokens != null) {
+            CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verifiedTokens");
+        }
+    }
+
+    private Optional<Claims> parse(String token) {
+        try {
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static long untilExpiration(Claims claims) {
+        Date exp = claims.getExpiration();
+        if (exp == null) {
+            return 0;
+        }
+        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(exp.getTime() - System.currentTimeMillis()));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.recco.Auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs bcrypt on a dedicated pool sized to the CPU count with a bounded queue, so a login storm
+ * can't occupy every request thread. When the queue is full callers get a fast 503 instead of waiting.
+ * With recco.auth.hashing.offload=false bcrypt runs on the calling thread instead, which is only
+ * meant for comparing the two under load.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final boolean offload;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${recco.auth.hashing.threads:0}") int threads,
+                          @Value("${recco.auth.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${recco.auth.hashing.offload:true}") boolean offload) {
+        this.passwordEncoder = passwordEncoder;
+        this.offload = offload;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("recco.password.hash").tag("operation", "encode")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.matchesTimer = Timer.builder("recco.password.hash").tag("operation", "matches")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.rejected = Counter.builder("recco.password.hash.rejected").register(meterRegistry);
+        Gauge.builder("recco.password.hash.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("recco.password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> task) {
+        if (!offload) return CompletableFuture.completedFuture(timer.record(task));
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(task), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingPoolSaturatedException(1);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.recco.Component;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch over 64-bit item hashes with conservative update: estimates never undercount
+ * and overcount by at most ~e/width of the total with probability 1 - e^-depth.
+ * Not thread-safe; callers guard it with their own lock.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final int[] counts;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        int w = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = w - 1;
+        this.counts = new int[depth * w];
+    }
+
+    public void add(long hash) {
+        // conservative update: only raise the counters that are at the current minimum
+        int target = estimate(hash) + 1;
+        for (int row = 0; row < depth; row++) {
+            int i = index(row, hash);
+            if (counts[i] < target) counts[i] = target;
+        }
+    }
+
+    public int estimate(long hash) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[index(row, hash)]);
+        }
+        return min;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    // double hashing: row i uses h1 + i * h2
+    private int index(int row, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.InterestType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Per-user dashboard read model: the set of interest types a user has posted in.
+ * Kept up to date by UserService writes so a warm read never touches the database.
+ */
+@Component
+public class DashboardCache implements MeterBinder {
+
+    // values are never mutated in place, writers swap in a new set
+    private final Cache<UUID, Set<InterestType>> interestTypes;
+
+    public DashboardCache(@Value("${recco.dashboard-cache.max-size:50000}") long maxSize,
+                          @Value("${recco.dashboard-cache.ttl:30m}") Duration ttl) {
+        this.interestTypes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Set<InterestType> interestTypes(UUID userId, Function<UUID, Set<InterestType>> loader) {
+        return interestTypes.get(userId, id -> Set.copyOf(loader.apply(id)));
+    }
+
+    // write-through: only touches users that are already cached
+    public void interestAdded(UUID userId, InterestType type) {
+        interestTypes.asMap().computeIfPresent(userId, (id, types) -> {
+            if (types.contains(type)) return types;
+            EnumSet<InterestType> updated = EnumSet.of(type);
+            updated.addAll(types);
+            return Set.copyOf(updated);
+        });
+    }
+
+    // a delete may or may not remove the last post of a type, so reload on next read
+    public void evict(UUID userId) {
+        interestTypes.invalidate(userId);
+    }
+
+    public void evictAll() {
+        interestTypes.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return interestTypes.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, interestTypes, "dashboard");
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.InterestStatsDto;
+import com.example.recco.Model.DTO.RatingCount;
+import com.example.recco.Model.DTO.UserTypeCount;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.InterestTypeStats;
+import com.example.recco.Repository.InterestTypeStatsRepository;
+import com.example.recco.Repository.UserInterestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live per-InterestType aggregates (posts, active users, average rating) for the catalog.
+ * Writers bump LongAdders from UserInterestEvents, so adds and deletes never contend on a lock
+ * or touch the database. The counters are checkpointed to interest_type_stats on a schedule,
+ * and reconciled against user_interests with two grouped queries to correct any drift
+ * (missed events, rows written outside the app, restarts between checkpoints).
+ */
+@Component
+public class InterestStats {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestStats.class);
+
+    private static final InterestType[] TYPES = InterestType.values();
+
+    private final UserInterestRepository userInterestRepository;
+    private final InterestTypeStatsRepository statsRepository;
+    private final Clock clock;
+    // swapped whole by reconcile; an event racing with the swap can be off by one until the next run
+    private volatile Counters counters = new Counters(true);
+    // bumped on every change, so cached renderings of the stats know when to rebuild
+    private final LongAdder changes = new LongAdder();
+
+    @Autowired
+    public InterestStats(UserInterestRepository userInterestRepository, InterestTypeStatsRepository statsRepository) {
+        this(userInterestRepository, statsRepository, Clock.systemUTC());
+    }
+
+    InterestStats(UserInterestRepository userInterestRepository, InterestTypeStatsRepository statsRepository, Clock clock) {
+        this.userInterestRepository = userInterestRepository;
+        this.statsRepository = statsRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts from the last checkpoint so the catalog has numbers right away; the first scheduled
+     * reconcile then brings in per-user counts. With no checkpoint yet, reconciles immediately.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<InterestTypeStats> rows = statsRepository.findAll();
+        if (rows.isEmpty()) {
+            reconcile();
+            return;
+        }
+        // per-user counts are unknown until reconcile, so active users stay at the checkpointed value
+        Counters loaded = new Counters(false);
+        for (InterestTypeStats row : rows) {
+            int t = row.getInterestType().ordinal();
+            loaded.posts[t].add(row.getPosts());
+            loaded.activeUsers[t].add(row.getActiveUsers());
+            loaded.ratingMillis[t].add(row.getRatingMillisSum());
+            loaded.rated[t].add(row.getRatedPosts());
+        }
+        counters = loaded;
+        changes.increment();
+        log.info("Interest stats loaded from checkpoint: {}", snapshot());
+    }
+
+    @EventListener
+    public void onUserInterestEvent(UserInterestEvent event) {
+        if (event.interestType() == null || event.userId() == null) return;
+        // only descriptions are editable; type and rating never change
+        if (event.kind() == UserInterestEvent.Kind.UPDATED) return;
+        int delta = event.kind() == UserInterestEvent.Kind.CREATED ? 1 : -1;
+        counters.apply(event.interestType(), event.userId(), event.rating(), delta);
+        changes.increment();
+    }
+
+    /**
+     * Increases whenever any counter may have changed. Read it before reading the counters:
+     * what is built from them is then at least as new as the version.
+     */
+    public long version() {
+        return changes.sum();
+    }
+
+    public InterestStatsDto get(InterestType type) {
+        return counters.toDto(type.ordinal());
+    }
+
+    public Map<InterestType, InterestStatsDto> snapshot() {
+        Counters c = counters;
+        Map<InterestType, InterestStatsDto> result = new EnumMap<>(InterestType.class);
+        for (InterestType type : TYPES) {
+            result.put(type, c.toDto(type.ordinal()));
+        }
+        return result;
+    }
+
+    // checkpoint and reconcile share the single scheduler thread, so they never overlap
+    @Scheduled(initialDelayString = "${recco.interest-stats.checkpoint-interval:1m}",
+            fixedDelayString = "${recco.interest-stats.checkpoint-interval:1m}")
+    public void checkpoint() {
+        Counters c = counters;
+        Instant now = clock.instant();
+        List<InterestTypeStats> rows = new ArrayList<>(TYPES.length);
+        for (InterestType type : TYPES) {
+            int t = type.ordinal();
+            rows.add(new InterestTypeStats(type, c.posts[t].sum(), c.activeUsers[t].sum(),
+                    c.ratingMillis[t].sum(), c.rated[t].sum(), now));
+        }
+        statsRepository.saveAll(rows);
+    }
+
+    /**
+     * Recomputes every counter from user_interests and swaps them in, logging any drift
+     * from the live values, then checkpoints the result.
+     */
+    @Scheduled(initialDelayString = "${recco.interest-stats.reconcile-initial-delay:30s}",
+            fixedDelayString = "${recco.interest-stats.reconcile-interval:1h}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        Counters fresh = new Counters(true);
+        for (UserTypeCount row : userInterestRepository.countPostsByUserAndType()) {
+            int t = row.getInterestType().ordinal();
+            fresh.posts[t].add(row.getPosts());
+            fresh.activeUsers[t].increment();
+            fresh.perUser.computeIfAbsent(row.getUserId(), u -> new AtomicIntegerArray(TYPES.length))
+                    .set(t, (int) row.getPosts());
+        }
+        for (RatingCount row : userInterestRepository.countPostsByTypeAndRating()) {
+            long millis = ratingMillis(row.getRating());
+            if (millis < 0) continue;
+            int t = row.getInterestType().ordinal();
+            fresh.ratingMillis[t].add(millis * row.getPosts());
+            fresh.rated[t].add(row.getPosts());
+        }
+
+        Counters previous = counters;
+        counters = fresh;
+        changes.increment();
+        for (InterestType type : TYPES) {
+            int t = type.ordinal();
+            long postsDrift = fresh.posts[t].sum() - previous.posts[t].sum();
+            long usersDrift = fresh.activeUsers[t].sum() - previous.activeUsers[t].sum();
+            if (postsDrift != 0 || usersDrift != 0) {
+                log.info("Interest stats drift for {}: posts {}, active users {}", type, postsDrift, usersDrift);
+            }
+        }
+        checkpoint();
+        log.info("Interest stats reconciled in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Ratings are free text; only plain numbers count towards the average.
+     * Returns the rating in thousandths, or -1 if it isn't numeric.
+     */
+    static long ratingMillis(String rating) {
+        if (rating == null || rating.isBlank()) return -1;
+        try {
+            double value = Double.parseDouble(rating.trim());
+            if (!Double.isFinite(value) || value < 0) return -1;
+            return Math.round(value * 1000);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder[] posts = adders();
+        final LongAdder[] activeUsers = adders();
+        final LongAdder[] ratingMillis = adders();
+        final LongAdder[] rated = adders();
+        // user -> posts per type ordinal; null while only a checkpoint has been loaded
+        final Map<UUID, AtomicIntegerArray> perUser;
+
+        Counters(boolean trackUsers) {
+            this.perUser = trackUsers ? new ConcurrentHashMap<>() : null;
+        }
+
+        void apply(InterestType type, UUID userId, String rating, int delta) {
+            int t = type.ordinal();
+            posts[t].add(delta);
+            long millis = ratingMillis(rating);
+            if (millis >= 0) {
+                ratingMillis[t].add(delta * millis);
+                rated[t].add(delta);
+            }
+            if (perUser == null) return;
+            AtomicIntegerArray userPosts = delta > 0
+                    ? perUser.computeIfAbsent(userId, u -> new AtomicIntegerArray(TYPES.length))
+                    : perUser.get(userId);
+            if (userPosts == null) return;
+            int now = userPosts.addAndGet(t, delta);
+            // a user becomes active with their first post of the type and inactive with their last
+            if (delta > 0 && now == delta) activeUsers[t].increment();
+            if (delta < 0 && now == 0) activeUsers[t].decrement();
+        }
+
+        InterestStatsDto toDto(int t) {
+            long count = rated[t].sum();
+            Double average = count <= 0 ? null : Math.round(ratingMillis[t].sum() / (double) count / 10) / 100.0;
+            return new InterestStatsDto(Math.max(0, posts[t].sum()), Math.max(0, activeUsers[t].sum()), average);
+        }
+
+        private static LongAdder[] adders() {
+            LongAdder[] adders = new LongAdder[TYPES.length];
+            for (int i = 0; i < adders.length; i++) adders[i] = new LongAdder();
+            return adders;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.recco.Component;
+
+import com.example.recco.Auth.PrincipalCache;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.UserInterest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Keeps the in-process caches of several instances in step through Postgres LISTEN/NOTIFY.
+ * Every UserInterestEvent (published by UserService after commit) is sent as (user id, interest id,
+ * InterestType) on a channel that every instance listens to on its own dedicated connection; the
+ * others evict what that change makes stale: the user's dashboard types and ETag version, and the
+ * post's second-level cache entries, and they reload the RecentActivity ring of the post's type.
+ * Whenever the listener (re)connects it flushes everything and reloads every ring, since
+ * notifications sent while it wasn't listening are lost.
+ * <p>
+ * Everything else built from UserInterestEvents stays per instance and only sees the writes made
+ * on its own node: SearchIndex, TrendingIndex, RecommendationIndex and SimilarUsersIndex until the
+ * instance restarts, InterestStats until its scheduled reconcile. PostStream subscribers are sent
+ * only the changes made on the node they are connected to.
+ */
+@Component
+@ConditionalOnProperty(name = "recco.invalidation.enabled", havingValue = "true")
+public class InvalidationBus implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    // Postgres rejects payloads of 8000 bytes or more
+    static final int MAX_PAYLOAD = 7900;
+    private static final String POST_QUERIES_REGION = "user-interest-queries";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DashboardCache dashboardCache;
+    private final PrincipalCache principalCache;
+    private final UserVersions userVersions;
+    private final RecentActivity recentActivity;
+    private final Cache secondLevelCache;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final Duration reconnectDelay;
+    // notifications this instance sent itself come back to it too; they are recognised by this and skipped
+    private final String origin = UUID.randomUUID().toString();
+    private final BlockingQueue<Invalidation> outbox = new LinkedBlockingQueue<>();
+    private volatile boolean running = true;
+    private volatile boolean listening;
+    private Thread sender;
+    private Thread listener;
+    private Counter received;
+    private Counter flushes;
+
+    public InvalidationBus(JdbcTemplate jdbcTemplate, DashboardCache dashboardCache, PrincipalCache principalCache,
+                           UserVersions userVersions, RecentActivity recentActivity,
+                           EntityManagerFactory entityManagerFactory,
+                           @Value("${spring.datasource.url}") String url,
+                           @Value("${spring.datasource.username:}") String username,
+                           @Value("${spring.datasource.password:}") String password,
+                           @Value("${recco.invalidation.channel:recco_invalidation}") String channel,
+                           @Value("${recco.invalidation.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dashboardCache = dashboardCache;
+        this.principalCache = principalCache;
+        this.userVersions = userVersions;
+        this.recentActivity = recentActivity;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recco.invalidation.listening", this, bus -> bus.listening ? 1 : 0).register(registry);
+        received = Counter.builder("recco.invalidation.received")
+                .description("Changes from other instances evicted locally")
+                .register(registry);
+        flushes = Counter.builder("recco.invalidation.flushes")
+                .description("Full cache flushes after the listener (re)connected")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sender = Thread.ofVirtual().name("recco-invalidation-sender").start(this::send);
+        listener = Thread.ofPlatform().daemon().name("recco-invalidation-listener").start(this::listen);
+    }
+
+    @EventListener
+    public void onUserInterestEvent(UserInterestEvent event) {
+        // the local caches were already updated by the writer; only the other instances need telling
+        outbox.add(new Invalidation(event.userId(), event.id(), event.interestType()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (sender != null) sender.interrupt();
+        if (listener != null) listener.interrupt();
+    }
+
+    // drains the outbox on its own thread, so writers never wait on NOTIFY and a burst (an import) goes out packed
+    private void send() {
+        List<Invalidation> batch = new ArrayList<>();
+        while (running) {
+            try {
+                batch.add(outbox.take());
+                outbox.drainTo(batch);
+                for (String payload : encode(origin, batch)) {
+                    jdbcTemplate.queryForObject("select pg_notify(?, ?)", Object.class, channel, payload);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // the others keep these entries until they expire or the next flush
+                log.warn("Could not publish {} cache invalidations", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                listening = true;
+                flush();
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    // blocks on the socket, so a dead connection surfaces here as an SQLException
+                    PGNotification[] notifications = pg.getNotifications(1000);
+                    if (notifications == null) continue;
+                    Set<InterestType> types = EnumSet.noneOf(InterestType.class);
+                    for (PGNotification notification : notifications) {
+                        types.addAll(receive(notification.getParameter()));
+                    }
+                    // once per type for the whole batch, so a burst from an import costs one query per type
+                    for (InterestType type : types) {
+                        recentActivity.invalidate(type);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) return;
+                log.warn("Cache invalidation listener lost its connection, reconnecting in {}", reconnectDelay, e);
+            } finally {
+                listening = false;
+            }
+            try {
+                Thread.sleep(reconnectDelay);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    boolean listening() {
+        return listening;
+    }
+
+    // evicts what the changes make stale and returns their types, whose feed rings the caller reloads
+    Set<InterestType> receive(String payload) {
+        List<Invalidation> changes = decode(origin, payload);
+        if (changes.isEmpty()) return Set.of();
+        Set<InterestType> types = EnumSet.noneOf(InterestType.class);
+        for (Invalidation change : changes) {
+            if (change.interestType() != null) types.add(change.interestType());
+            if (change.userId() != null) {
+                userVersions.changed(change.userId());
+                dashboardCache.evict(change.userId());
+            }
+            if (change.interestId() != null) {
+                secondLevelCache.evictEntityData(UserInterest.class, change.interestId());
+            }
+        }
+        // results of the per-user finders: these tables' update timestamps only move on the writing instance
+        secondLevelCache.evictQueryRegion(POST_QUERIES_REGION);
+        if (received != null) received.increment(changes.size());
+        return types;
+    }
+
+    void flush() {
+        userVersions.invalidateAll();
+        dashboardCache.evictAll();
+        principalCache.evictAll();
+        secondLevelCache.evictAllRegions();
+        recentActivity.rebuild();
+        if (flushes != null) flushes.increment();
+        log.info("Cache invalidation listener connected; local caches flushed");
+    }
+
+    record Invalidation(UUID userId, Long interestId, InterestType interestType) {}
+
+    /**
+     * origin|userId,interestId,TYPE;userId,interestId,TYPE;... with empty fields for nulls,
+     * split so that no payload exceeds MAX_PAYLOAD bytes.
+     */
+    static List<String> encode(String origin, List<Invalidation> changes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(origin).append('|');
+        int empty = payload.length();
+        for (Invalidation change : changes) {
+            String entry = (change.userId() == null ? "" : change.userId().toString()) + ","
+                    + (change.interestId() == null ? "" : change.interestId().toString()) + ","
+                    + (change.interestType() == null ? "" : change.interestType().name());
+            if (payload.length() > empty && payload.length() + 1 + entry.length() > MAX_PAYLOAD) {
+                payloads.add(payload.toString());
+                payload.setLength(empty);
+            }
+            if (payload.length() > empty) payload.append(';');
+            payload.append(entry);
+        }
+        if (payload.length() > empty) payloads.add(payload.toString());
+        return payloads;
+    }
+
+    // entries sent by this instance, or that don't parse, are skipped
+    static List<Invalidation> decode(String self, String payload) {
+        if (payload == null) return List.of();
+        int bar = payload.indexOf('|');
+        if (bar < 0 || payload.substring(0, bar).equals(self)) return List.of();
+        List<Invalidation> changes = new ArrayList<>();
+        for (String entry : payload.substring(bar + 1).split(";")) {
+            String[] fields = entry.split(",", -1);
+            if (fields.length != 3) continue;
+            try {
+                changes.add(new Invalidation(
+                        fields[0].isEmpty() ? null : UUID.fromString(fields[0]),
+                        fields[1].isEmpty() ? null : Long.valueOf(fields[1]),
+                        fields[2].isEmpty() ? null : InterestType.valueOf(fields[2])));
+            } catch (IllegalArgumentException e) {
+                log.debug("Skipping malformed invalidation entry {}", entry);
+            }
+        }
+        return changes;
+    }
+}
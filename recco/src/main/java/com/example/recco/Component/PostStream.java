@@ -0,0 +1,220 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.PostDto;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events of created, updated and deleted posts per InterestType.
+ * UserService publishes UserInterestEvents after commit; each one gets an id and is kept in a
+ * bounded per-type replay log, so a client reconnecting with Last-Event-ID picks up where it left off.
+ * Every connection has its own bounded queue drained on a virtual thread: a slow client never holds
+ * up the writer, and one that falls a full buffer behind is disconnected to resume from the log.
+ */
+@Component
+public class PostStream implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PostStream.class);
+
+    static final String RESET = "reset";
+    private static final Object HEARTBEAT = new Object();
+
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Map<InterestType, Channel> channels = new EnumMap<>(InterestType.class);
+    // seeded from the clock so ids keep increasing across restarts and stale ones are recognised
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("recco-sse-", 0).factory());
+    private Counter dropped;
+
+    public PostStream(@Value("${recco.stream.buffer-size:256}") int bufferSize,
+                      @Value("${recco.stream.timeout:30m}") Duration timeout) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        for (InterestType type : InterestType.values()) {
+            channels.put(type, new Channel(sequence.get()));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recco.stream.connections", this, PostStream::connections).register(registry);
+        dropped = Counter.builder("recco.stream.dropped")
+                .description("Connections closed because the client fell a full buffer behind")
+                .register(registry);
+    }
+
+    /**
+     * Opens a stream of the type's post events. With lastEventId, first replays what the client
+     * missed, or sends a "reset" event if that is no longer known and the client should refetch.
+     */
+    public SseEmitter subscribe(InterestType type, Long lastEventId) {
+        return subscribe(type, lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(InterestType type, Long lastEventId, SseEmitter emitter) {
+        Channel channel = channels.get(type);
+        Subscriber subscriber = new Subscriber(channel, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        // under the channel lock, so nothing published in between is missed or sent twice
+        synchronized (channel) {
+            if (lastEventId != null) {
+                List<StreamEvent> missed = channel.since(lastEventId, sequence.get());
+                if (missed == null) {
+                    subscriber.offer(new StreamEvent(sequence.get(), RESET, null));
+                } else {
+                    missed.forEach(subscriber::offer);
+                }
+            }
+            channel.subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onUserInterestEvent(UserInterestEvent event) {
+        if (event.interestType() == null) return;
+        Channel channel = channels.get(event.interestType());
+        synchronized (channel) {
+            StreamEvent streamEvent = new StreamEvent(sequence.incrementAndGet(),
+                    event.kind().name().toLowerCase(Locale.ROOT), PostDto.of(event));
+            channel.replay.addLast(streamEvent);
+            if (channel.replay.size() > bufferSize) channel.horizon = channel.replay.removeFirst().id();
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(streamEvent);
+            }
+        }
+    }
+
+    // keeps idle connections from being cut by proxies and surfaces dead clients
+    @Scheduled(initialDelayString = "${recco.stream.heartbeat:15s}", fixedRateString = "${recco.stream.heartbeat:15s}")
+    public void heartbeat() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    public int connections() {
+        int n = 0;
+        for (Channel channel : channels.values()) n += channel.subscribers.size();
+        return n;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Channel channel : channels.values()) {
+            channel.subscribers.forEach(s -> s.emitter.complete());
+        }
+        sender.shutdown();
+    }
+
+    record StreamEvent(long id, String name, PostDto data) {}
+
+    private static final class Channel {
+        // guarded by the channel's monitor
+        final ArrayDeque<StreamEvent> replay = new ArrayDeque<>();
+        // id of the last event dropped from the log (or the sequence at startup): anything up to it is gone
+        long horizon;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+        Channel(long horizon) {
+            this.horizon = horizon;
+        }
+
+        /**
+         * Events after lastEventId, or null if some of them are no longer in the log
+         * or the id was never handed out by this process.
+         */
+        List<StreamEvent> since(long lastEventId, long current) {
+            if (lastEventId < horizon || lastEventId > current) return null;
+            List<StreamEvent> missed = new ArrayList<>();
+            for (StreamEvent e : replay) {
+                if (e.id() > lastEventId) missed.add(e);
+            }
+            return missed;
+        }
+    }
+
+    private final class Subscriber {
+        final Channel channel;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Channel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        void offer(Object item) {
+            if (closed.get()) return;
+            if (!queue.offer(item)) {
+                // a full buffer behind: let the client reconnect with Last-Event-ID instead of buffering more
+                if (dropped != null) dropped.increment();
+                log.debug("Closing slow SSE client after {} queued events", bufferSize);
+                close();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                while (!closed.get() && (item = queue.poll()) != null) {
+                    if (item == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        StreamEvent e = (StreamEvent) item;
+                        SseEmitter.SseEventBuilder builder = SseEmitter.event().id(Long.toString(e.id())).name(e.name());
+                        emitter.send(e.data() == null ? builder.data("") : builder.data(e.data()));
+                    }
+                }
+            } catch (Exception e) {
+                // client went away; the emitter's completion callbacks finish the cleanup
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+                if (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                    sender.execute(this::drain);
+                }
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                channel.subscribers.remove(this);
+                queue.clear();
+            }
+        }
+    }
+}
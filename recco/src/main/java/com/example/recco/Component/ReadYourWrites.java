@@ -0,0 +1,53 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Who wrote recently, so their reads can skip the replicas until replication has caught up.
+ * Keyed by the authenticated name (email), which is all the routing DataSource can see of a request.
+ */
+@Component
+@ConditionalOnExpression("!'${recco.replicas.urls:}'.isBlank()")
+public class ReadYourWrites {
+
+    private final Cache<String, Boolean> writers;
+
+    public ReadYourWrites(@Value("${recco.replicas.read-your-writes:5s}") Duration window,
+                          @Value("${recco.replicas.read-your-writes-max-users:100000}") long maxUsers) {
+        this.writers = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    // UserService publishes these after commit, on the writing request's thread
+    @EventListener
+    public void onUserInterestEvent(UserInterestEvent event) {
+        wrote(currentUser());
+    }
+
+    public void wrote(String user) {
+        if (user != null) writers.put(user, Boolean.TRUE);
+    }
+
+    // true while the current request's user is within the window of their last write
+    public boolean pinned() {
+        String user = currentUser();
+        return user != null && writers.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.Event.UserInterestEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Applies UserInterestEvents to an index that is also built by scanning the table. Requests are
+ * served before ApplicationReadyEvent, so events arrive while the scan runs: those are held back and
+ * applied after it, in order, and the scan is the only writer meanwhile. Outside a rebuild events are
+ * applied one at a time as they come.
+ */
+final class RebuildBuffer {
+
+    private final Consumer<UserInterestEvent> apply;
+    // events that arrived during the scan, or null when none is running
+    private List<UserInterestEvent> pending;
+
+    RebuildBuffer(Consumer<UserInterestEvent> apply) {
+        this.apply = apply;
+    }
+
+    synchronized void offer(UserInterestEvent event) {
+        if (pending != null) {
+            pending.add(event);
+        } else {
+            apply.accept(event);
+        }
+    }
+
+    // an event the scan already saw is applied again: creates skip known ids, deletes undo rows read before them
+    void rebuild(Runnable scan) {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            scan.run();
+        } finally {
+            synchronized (this) {
+                List<UserInterestEvent> events = pending;
+                pending = null;
+                events.forEach(apply);
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.CursorPage;
+import com.example.recco.Model.DTO.PostDto;
+import com.example.recco.Model.DTO.UserInterestSummary;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Repository.UserInterestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * The newest posts of each InterestType, newest first, in a fixed-size ring per type.
+ * Feed pages that fall inside the ring are served from memory; the rest go to the
+ * (interest_type, created_at, id) index. Loaded at startup, then fed by UserInterestEvents.
+ * Requests are served before the load finishes, so until then a ring answers nothing, and the
+ * events that arrive while its query runs are replayed over the loaded rows.
+ */
+@Component
+public class RecentActivity {
+
+    private static final Logger log = LoggerFactory.getLogger(RecentActivity.class);
+
+    private final UserInterestRepository userInterestRepository;
+    private final int capacity;
+    private final Map<InterestType, Ring> rings = new EnumMap<>(InterestType.class);
+
+    public RecentActivity(UserInterestRepository userInterestRepository,
+                          @Value("${recco.feed.hot-size:200}") int capacity) {
+        this.userInterestRepository = userInterestRepository;
+        this.capacity = capacity;
+        for (InterestType type : InterestType.values()) {
+            rings.put(type, new Ring(capacity));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        for (InterestType type : InterestType.values()) {
+            load(type, () -> newest(type));
+        }
+        log.info("Recent activity loaded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reloads the type's ring after another instance changed one of its posts (see InvalidationBus);
+     * those changes never arrive here as events. Pages of the type go to the database meanwhile.
+     */
+    public void invalidate(InterestType type) {
+        load(type, () -> newest(type));
+    }
+
+    private List<PostDto> newest(InterestType type) {
+        return userInterestRepository.findFeedByInterestType(type, Limit.of(capacity)).stream()
+                .map(PostDto::of)
+                .toList();
+    }
+
+    // newest runs outside the lock; events published meanwhile are held back and applied after it
+    void load(InterestType type, Supplier<List<PostDto>> newest) {
+        Ring ring = rings.get(type);
+        long load = ring.beginLoad();
+        try {
+            ring.finishLoad(load, newest.get());
+        } catch (RuntimeException e) {
+            ring.abandonLoad(load);
+            throw e;
+        }
+    }
+
+    @EventListener
+    public void onUserInterestEvent(UserInterestEvent event) {
+        if (event.interestType() == null || event.id() == null) return;
+        rings.get(event.interestType()).apply(event);
+    }
+
+    /**
+     * The page of up to limit posts older than (createdAt, id), or the newest ones when createdAt is null.
+     * Empty when the ring can't tell whether the database holds more posts that belong on the page.
+     */
+    public Optional<CursorPage<PostDto>> page(InterestType type, Instant createdAt, Long id, int limit) {
+        return rings.get(type).page(createdAt, id, limit);
+    }
+
+    // true if a comes before b in the feed: newer, or same instant and higher id
+    static boolean newer(Instant createdA, long idA, Instant createdB, long idB) {
+        int c = createdA.compareTo(createdB);
+        return c > 0 || (c == 0 && idA > idB);
+    }
+
+    private static final class Ring {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final PostDto[] items;
+        // index of the newest item; logical position i lives at items[(head + i) % length]
+        private int head;
+        private int size;
+        // true while the ring holds every post of the type, so a short page means the end of the feed
+        private boolean complete = true;
+        // false until a load has finished; pages are left to the database meanwhile
+        private boolean loaded;
+        // the latest load; an older one that finishes after it is ignored
+        private long loads;
+        // events that arrived while a load was running, or null when none is
+        private List<UserInterestEvent> pending;
+
+        Ring(int capacity) {
+            this.items = new PostDto[capacity];
+        }
+
+        long beginLoad() {
+            lock.writeLock().lock();
+            try {
+                loaded = false;
+                if (pending == null) pending = new ArrayList<>();
+                return ++loads;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void finishLoad(long load, List<PostDto> newest) {
+            lock.writeLock().lock();
+            try {
+                if (load != loads) return;
+                Arrays.fill(items, null);
+                head = 0;
+                size = 0;
+                for (PostDto item : newest) {
+                    if (size == items.length) break;
+                    items[size++] = item;
+                }
+                complete = newest.size() < items.length;
+                List<UserInterestEvent> events = pending;
+                pending = null;
+                // already in newest or not: insert skips known ids, updates and removes repeat harmlessly
+                for (UserInterestEvent event : events) apply(event);
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // left unloaded, so pages keep going to the database until a later load succeeds
+        void abandonLoad(long load) {
+            lock.writeLock().lock();
+            try {
+                if (load == loads) pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void apply(UserInterestEvent event) {
+            lock.writeLock().lock();
+            try {
+                if (pending != null) {
+                    pending.add(event);
+                    return;
+                }
+                switch (event.kind()) {
+                    case CREATED -> insert(PostDto.of(event));
+                    case UPDATED -> update(event.id(), event.description(), event.updatedAt());
+                    case DELETED -> remove(event.id());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void insert(PostDto item) {
+            if (item.createdAt() == null) return;
+            lock.writeLock().lock();
+            try {
+                // almost always position 0; concurrent commits can land slightly out of order
+                int position = 0;
+                while (position < size && !newer(item.createdAt(), item.id(), get(position).createdAt(), get(position).id())) {
+                    if (get(position).id().equals(item.id())) return;
+                    position++;
+                }
+                if (size == items.length) complete = false;
+                // older than everything kept, and the posts between it and the tail were evicted or never loaded
+                if (position == size && !complete) return;
+                if (size == items.length) set(--size, null);
+                if (position == 0) {
+                    head = Math.floorMod(head - 1, items.length);
+                    items[head] = item;
+                } else {
+                    for (int i = size; i > position; i--) set(i, get(i - 1));
+                    set(position, item);
+                }
+                size++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void update(Long id, String description, Instant updatedAt) {
+            lock.writeLock().lock();
+            try {
+                int i = indexOf(id);
+                if (i >= 0) set(i, get(i).withDescription(description, updatedAt));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                int i = indexOf(id);
+                if (i < 0) return;
+                for (; i < size - 1; i++) set(i, get(i + 1));
+                set(--size, null);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Optional<CursorPage<PostDto>> page(Instant createdAt, Long id, int limit) {
+            lock.readLock().lock();
+            try {
+                if (!loaded) return Optional.empty();
+                int start = 0;
+                if (createdAt != null) {
+                    while (start < size && !newer(createdAt, id, get(start).createdAt(), get(start).id())) start++;
+                }
+                int available = size - start;
+                if (available < limit && !complete) return Optional.empty();
+
+                int n = Math.min(limit, available);
+                List<PostDto> page = new ArrayList<>(n);
+                for (int i = start; i < start + n; i++) page.add(get(i));
+                boolean hasNext = available > limit || (!complete && n > 0);
+                if (!hasNext) return Optional.of(new CursorPage<>(page, null));
+                PostDto last = page.get(n - 1);
+                return Optional.of(new CursorPage<>(page, CursorPage.encodeCursor(last.createdAt(), last.id())));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private int indexOf(Long id) {
+            for (int i = 0; i < size; i++) {
+                if (get(i).id().equals(id)) return i;
+            }
+            return -1;
+        }
+
+        private PostDto get(int i) {
+            return items[(head + i) % items.length];
+        }
+
+        private void set(int i, PostDto item) {
+            items[(head + i) % items.length] = item;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.RecommendationDto;
+import com.example.recco.Model.DTO.UserInterestSummary;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Repository.UserInterestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Item-to-item co-occurrence index per InterestType: "users who added this title also added...".
+ * Titles are interned to ints and counts live in primitive maps, so a top-K query is a scan of one row.
+ * Built once from the table at startup, then maintained from UserInterestEvents.
+ */
+@Component
+public class RecommendationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationIndex.class);
+
+    private final UserInterestRepository userInterestRepository;
+    private final Map<InterestType, TypeIndex> indexes = new EnumMap<>(InterestType.class);
+    // interest id -> (user, type, title id), so deletes can be applied without the row
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // the only way events reach add and remove, so there is one writer at a time
+    private final RebuildBuffer events = new RebuildBuffer(this::apply);
+
+    public RecommendationIndex(UserInterestRepository userInterestRepository) {
+        this.userInterestRepository = userInterestRepository;
+        for (InterestType type : InterestType.values()) {
+            indexes.put(type, new TypeIndex());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        events.rebuild(() -> userInterestRepository.forEachSummaryPage(1000, page -> {
+            for (UserInterestSummary row : page) {
+                add(row.getId(), row.getUserId(), row.getInterestType(), row.getTitle());
+            }
+        }));
+        log.info("Recommendation index built from {} interests in {} ms", entries.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onUserInterestEvent(UserInterestEvent event) {
+        events.offer(event);
+    }
+
+    private void apply(UserInterestEvent event) {
+        switch (event.kind()) {
+            case CREATED -> add(event.id(), event.userId(), event.interestType(), event.title());
+            case DELETED -> remove(event.id());
+            case UPDATED -> { } // only the description can change, titles are fixed
+        }
+    }
+
+    /**
+     * Titles most often added by the users who also added the given title.
+     */
+    public List<RecommendationDto> similarTitles(InterestType type, String title, int k) {
+        return indexes.get(type).topK(List.of(title), k);
+    }
+
+    /**
+     * Titles co-occurring with everything the user has added for the type, minus what they already have.
+     */
+    public List<RecommendationDto> forUser(InterestType type, UUID userId, int k) {
+        return indexes.get(type).topKForUser(userId, k);
+    }
+
+    private void add(Long id, UUID userId, InterestType type, String title) {
+        String key = normalize(title);
+        if (id == null || userId == null || key == null || entries.containsKey(id)) return;
+        TypeIndex index = indexes.get(type);
+        int titleId = index.add(userId, key, title.trim());
+        entries.put(id, new Entry(userId, type, titleId));
+    }
+
+    private void remove(Long id) {
+        Entry entry = id == null ? null : entries.remove(id);
+        if (entry != null) {
+            indexes.get(entry.type()).remove(entry.userId(), entry.titleId());
+        }
+    }
+
+    static String normalize(String title) {
+        if (title == null) return null;
+        String key = title.trim().toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+
+    private record Entry(UUID userId, InterestType type, int titleId) {}
+
+    private static final class TypeIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Integer> titleIds = new HashMap<>();
+        private final List<String> displayTitles = new ArrayList<>();
+        // user -> (title id -> number of rows the user has with that title)
+        private final Map<UUID, IntIntHashMap> userTitles = new HashMap<>();
+        // title id -> (other title id -> number of users holding both)
+        private final List<IntIntHashMap> cooccurrence = new ArrayList<>();
+
+        int add(UUID userId, String key, String display) {
+            lock.writeLock().lock();
+            try {
+                Integer titleId = titleIds.get(key);
+                if (titleId == null) {
+                    titleId = displayTitles.size();
+                    titleIds.put(key, titleId);
+                    displayTitles.add(display);
+                    cooccurrence.add(new IntIntHashMap());
+                }
+                int t = titleId;
+                IntIntHashMap owned = userTitles.computeIfAbsent(userId, u -> new IntIntHashMap());
+                if (owned.addTo(t, 1) == 1) {
+                    IntIntHashMap row = cooccurrence.get(t);
+                    owned.forEach((other, count) -> {
+                        if (other != t) {
+                            row.addTo(other, 1);
+                            cooccurrence.get(other).addTo(t, 1);
+                        }
+                    });
+                }
+                return t;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(UUID userId, int t) {
+            lock.writeLock().lock();
+            try {
+                IntIntHashMap owned = userTitles.get(userId);
+                if (owned == null) return;
+                if (owned.addTo(t, -1) == 0) {
+                    IntIntHashMap row = cooccurrence.get(t);
+                    owned.forEach((other, count) -> {
+                        row.addTo(other, -1);
+                        cooccurrence.get(other).addTo(t, -1);
+                    });
+                    if (owned.isEmpty()) userTitles.remove(userId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<RecommendationDto> topK(List<String> titles, int k) {
+            lock.readLock().lock();
+            try {
+                IntIntHashMap scores = new IntIntHashMap();
+                IntIntHashMap exclude = new IntIntHashMap();
+                for (String title : titles) {
+                    Integer t = titleIds.get(normalize(title));
+                    if (t == null) continue;
+                    exclude.addTo(t, 1);
+                    cooccurrence.get(t).forEach(scores::addTo);
+                }
+                return select(scores, exclude, k);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<RecommendationDto> topKForUser(UUID userId, int k) {
+            lock.readLock().lock();
+            try {
+                IntIntHashMap owned = userTitles.get(userId);
+                if (owned == null) return List.of();
+                IntIntHashMap scores = new IntIntHashMap();
+                owned.forEach((t, count) -> cooccurrence.get(t).forEach(scores::addTo));
+                return select(scores, owned, k);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // bounded min-heap over primitive (score, title id) pairs packed into longs
+        private List<RecommendationDto> select(IntIntHashMap scores, IntIntHashMap exclude, int k) {
+            if (k <= 0 || scores.isEmpty()) return List.of();
+            PriorityQueue<Long> heap = new PriorityQueue<>(k + 1);
+            scores.forEach((t, score) -> {
+                if (exclude.get(t) > 0) return;
+                // higher score wins, ties go to the lower (older) title id
+                heap.add(((long) score << 32) | (Integer.MAX_VALUE - t));
+                if (heap.size() > k) heap.poll();
+            });
+            List<RecommendationDto> result = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                long packed = heap.poll();
+                int t = Integer.MAX_VALUE - (int) packed;
+                result.add(new RecommendationDto(displayTitles.get(t), (int) (packed >>> 32)));
+            }
+            Collections.reverse(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.SearchHitDto;
+import com.example.recco.Model.DTO.UserInterestSummary;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Repository.UserInterestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over UserInterest titles and descriptions.
+ * Terms live in a sorted dictionary so the last query token can be matched as a prefix (type-ahead);
+ * hits must match every token and are ranked by tf-idf, with title matches weighted higher.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    // completions rank below an exact match of the same token
+    private static final float PREFIX_DISCOUNT = 0.5f;
+    // bounds the work a one-letter prefix can cause
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final UserInterestRepository userInterestRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    // term -> (interest id -> weighted term frequency)
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    // updates and deletes made during the startup scan land after the rows it read
+    private final RebuildBuffer events = new RebuildBuffer(this::apply);
+
+    public SearchIndex(UserInterestRepository userInterestRepository) {
+        this.userInterestRepository = userInterestRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        events.rebuild(() -> userInterestRepository.forEachSummaryPage(1000, page -> {
+            for (UserInterestSummary row : page) {
+                put(row.getId(), row.getUserId(), row.getInterestType(), row.getTitle(), row.getDescription());
+            }
+        }));
+        log.info("Search index built for {} interests and {} terms in {} ms",
+                docs.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onUserInterestEvent(UserInterestEvent event) {
+        events.offer(event);
+    }
+
+    private void apply(UserInterestEvent event) {
+        switch (event.kind()) {
+            case CREATED, UPDATED -> put(event.id(), event.userId(), event.interestType(), event.title(), event.description());
+            case DELETED -> remove(event.id());
+        }
+    }
+
+    public void put(Long id, UUID userId, InterestType type, String title, String description) {
+        if (id == null) return;
+        Map<String, Float> terms = new HashMap<>();
+        for (String token : tokenize(title)) terms.merge(token, TITLE_WEIGHT, Float::sum);
+        for (String token : tokenize(description)) terms.merge(token, DESCRIPTION_WEIGHT, Float::sum);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            docs.put(id, new Doc(id, userId, type, title, description, terms.keySet()));
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top-k interests matching every token of the query; the last token also matches as a prefix.
+     * type may be null to search all interest types.
+     */
+    public List<SearchHitDto> search(String query, InterestType type, int k) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || k <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = i == tokens.size() - 1;
+                Map<Long, Float> tokenScores = score(tokens.get(i), prefix);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // AND: keep only ids matched by every token
+                    Map<Long, Float> merged = new HashMap<>();
+                    for (Map.Entry<Long, Float> e : scores.entrySet()) {
+                        Float s = tokenScores.get(e.getKey());
+                        if (s != null) merged.put(e.getKey(), e.getValue() + s);
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) return List.of();
+            }
+
+            PriorityQueue<Map.Entry<Long, Float>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Float> e : scores.entrySet()) {
+                if (type != null && docs.get(e.getKey()).type() != type) continue;
+                heap.add(e);
+                if (heap.size() > k) heap.poll();
+            }
+            List<SearchHitDto> hits = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                Map.Entry<Long, Float> e = heap.poll();
+                Doc doc = docs.get(e.getKey());
+                hits.add(new SearchHitDto(doc.id(), doc.userId(), doc.type().name(), doc.title(), doc.description(), e.getValue()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // tf-idf per id for one token; for a prefix, the best scoring expansion counts
+    private Map<Long, Float> score(String token, boolean prefix) {
+        Map<Long, Float> result = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> match : prefix ? expansions(token) : exact(token)) {
+            Map<Long, Float> ids = match.getValue();
+            float idf = (float) Math.log(1.0 + (double) docs.size() / ids.size());
+            if (!match.getKey().equals(token)) idf *= PREFIX_DISCOUNT;
+            for (Map.Entry<Long, Float> posting : ids.entrySet()) {
+                result.merge(posting.getKey(), posting.getValue() * idf, Math::max);
+            }
+        }
+        return result;
+    }
+
+    private List<Map.Entry<String, Map<Long, Float>>> exact(String token) {
+        Map<Long, Float> ids = postings.get(token);
+        return ids == null ? List.of() : List.of(Map.entry(token, ids));
+    }
+
+    // the token itself plus its most common completions (by document count), so a short prefix keeps
+    // the likely ones rather than the alphabetically first
+    private List<Map.Entry<String, Map<Long, Float>>> expansions(String token) {
+        List<Map.Entry<String, Map<Long, Float>>> matches = new ArrayList<>(exact(token));
+        PriorityQueue<Map.Entry<String, Map<Long, Float>>> heap =
+                new PriorityQueue<>(Comparator.comparingInt(e -> e.getValue().size()));
+        for (Map.Entry<String, Map<Long, Float>> completion
+                : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+            heap.add(completion);
+            if (heap.size() > MAX_PREFIX_EXPANSIONS) heap.poll();
+        }
+        matches.addAll(heap);
+        return matches;
+    }
+
+    private void removeLocked(Long id) {
+        Doc old = docs.remove(id);
+        if (old == null) return;
+        for (String term : old.terms()) {
+            Map<Long, Float> ids = postings.get(term);
+            if (ids != null && ids.remove(id) != null && ids.isEmpty()) postings.remove(term);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private record Doc(Long id, UUID userId, InterestType type, String title, String description, Set<String> terms) {}
+}
@@ -0,0 +1,221 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.SimilarUserDto;
+import com.example.recco.Model.DTO.UserInterestSummary;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Repository.UserInterestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "People like you": a MinHash signature per user over their (interest type, title) set,
+ * bucketed with LSH so a query only compares against users sharing at least one band.
+ * Scores are approximate Jaccard similarities (fraction of matching signature slots).
+ */
+@Component
+public class SimilarUsersIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarUsersIndex.class);
+
+    // 64 bands x 2 rows: pairs with Jaccard >= 0.3 share a bucket with ~99% probability
+    static final int BANDS = 64;
+    static final int ROWS = 2;
+    static final int SIGNATURE_SIZE = BANDS * ROWS;
+
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_CAFEL);
+        for (int i = 0; i < SIGNATURE_SIZE; i++) SEEDS[i] = random.nextLong();
+    }
+
+    private final UserInterestRepository userInterestRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // user -> (element hash -> number of rows), so deleting one duplicate keeps the element
+    private final Map<UUID, Map<Long, Integer>> userElements = new HashMap<>();
+    private final Map<UUID, int[]> signatures = new HashMap<>();
+    // band key -> users in that bucket
+    private final Map<Long, Set<UUID>> buckets = new HashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // events reach add and remove one at a time, and wait for the startup scan
+    private final RebuildBuffer events = new RebuildBuffer(this::apply);
+
+    public SimilarUsersIndex(UserInterestRepository userInterestRepository) {
+        this.userInterestRepository = userInterestRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        events.rebuild(() -> userInterestRepository.forEachSummaryPage(1000, page -> {
+            for (UserInterestSummary row : page) {
+                add(row.getId(), row.getUserId(), row.getInterestType(), row.getTitle());
+            }
+        }));
+        log.info("Similar-users index built for {} users in {} ms", signatures.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onUserInterestEvent(UserInterestEvent event) {
+        events.offer(event);
+    }
+
+    private void apply(UserInterestEvent event) {
+        switch (event.kind()) {
+            case CREATED -> add(event.id(), event.userId(), event.interestType(), event.title());
+            case DELETED -> remove(event.id());
+            case UPDATED -> { } // titles never change
+        }
+    }
+
+    public void add(Long id, UUID userId, InterestType type, String title) {
+        String key = RecommendationIndex.normalize(title);
+        if (id == null || userId == null || key == null || entries.containsKey(id)) return;
+        long element = elementHash(type, key);
+        entries.put(id, new Entry(userId, element));
+
+        lock.writeLock().lock();
+        try {
+            Map<Long, Integer> elements = userElements.computeIfAbsent(userId, u -> new HashMap<>());
+            if (elements.merge(element, 1, Integer::sum) == 1) {
+                int[] old = signatures.get(userId);
+                int[] signature = old == null ? new int[SIGNATURE_SIZE] : old.clone();
+                if (old == null) Arrays.fill(signature, Integer.MAX_VALUE);
+                // adding an element can only lower slots, so fold it in instead of rehashing the set
+                mergeInto(signature, element);
+                rebucket(userId, old, signature);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        Entry entry = id == null ? null : entries.remove(id);
+        if (entry == null) return;
+
+        lock.writeLock().lock();
+        try {
+            Map<Long, Integer> elements = userElements.get(entry.userId());
+            if (elements == null) return;
+            Integer left = elements.computeIfPresent(entry.element(), (e, n) -> n == 1 ? null : n - 1);
+            if (left == null) {
+                if (elements.isEmpty()) userElements.remove(entry.userId());
+                // a removed element may have held minima, so the signature is rebuilt from the set
+                rebucket(entry.userId(), signatures.get(entry.userId()),
+                        elements.isEmpty() ? null : signature(elements.keySet()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to k users most similar to the given one, best first.
+     */
+    public List<SimilarUserDto> similarTo(UUID userId, int k) {
+        lock.readLock().lock();
+        try {
+            int[] signature = signatures.get(userId);
+            if (signature == null || k <= 0) return List.of();
+
+            Set<UUID> candidates = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                Set<UUID> bucket = buckets.get(bandKey(signature, band));
+                if (bucket != null) candidates.addAll(bucket);
+            }
+            candidates.remove(userId);
+
+            PriorityQueue<SimilarUserDto> heap = new PriorityQueue<>(Comparator.comparingDouble(SimilarUserDto::score));
+            for (UUID candidate : candidates) {
+                heap.add(new SimilarUserDto(candidate, estimate(signature, signatures.get(candidate))));
+                if (heap.size() > k) heap.poll();
+            }
+            List<SimilarUserDto> result = new ArrayList<>(heap);
+            result.sort(Comparator.comparingDouble(SimilarUserDto::score).reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // swap the user's signature and move them between the buckets whose band changed
+    private void rebucket(UUID userId, int[] old, int[] signature) {
+        for (int band = 0; band < BANDS; band++) {
+            long oldKey = old == null ? 0 : bandKey(old, band);
+            long newKey = signature == null ? 0 : bandKey(signature, band);
+            if (old != null && signature != null && oldKey == newKey) continue;
+            if (old != null) {
+                Set<UUID> bucket = buckets.get(oldKey);
+                if (bucket != null && bucket.remove(userId) && bucket.isEmpty()) buckets.remove(oldKey);
+            }
+            if (signature != null) {
+                buckets.computeIfAbsent(newKey, b -> new HashSet<>()).add(userId);
+            }
+        }
+        if (signature == null) {
+            signatures.remove(userId);
+        } else {
+            signatures.put(userId, signature);
+        }
+    }
+
+    static int[] signature(Collection<Long> elements) {
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long element : elements) {
+            mergeInto(signature, element);
+        }
+        return signature;
+    }
+
+    private static void mergeInto(int[] signature, long element) {
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            int h = (int) (mix64(element ^ SEEDS[i]) >>> 33);
+            if (h < signature[i]) signature[i] = h;
+        }
+    }
+
+    static double estimate(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    static long elementHash(InterestType type, String normalizedTitle) {
+        // FNV-1a over "TYPE:title", then mixed
+        long h = 0xcbf29ce484222325L;
+        for (byte b : (type.name() + ':' + normalizedTitle).getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long h = band;
+        for (int r = 0; r < ROWS; r++) {
+            h = h * 31 + signature[band * ROWS + r];
+        }
+        return mix64(h);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private record Entry(UUID userId, long element) {}
+}
@@ -0,0 +1,274 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.TrendingTitleDto;
+import com.example.recco.Model.DTO.UserInterestSummary;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Repository.UserInterestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "Trending now" per InterestType: titles added most often in the last hour, day or week.
+ * Each window is a ring of count-min sketches (one per time bucket) plus a bounded set of
+ * candidate titles, so memory is fixed no matter how many distinct titles there are.
+ * Rebuilt from created_at at startup, then fed by UserInterestEvents; deletes are not subtracted.
+ */
+@Component
+public class TrendingIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingIndex.class);
+
+    public enum Window {
+        // windows slide by one bucket, so "1h" covers the last 55-60 minutes
+        HOUR("1h", Duration.ofMinutes(5), 12),
+        DAY("24h", Duration.ofHours(1), 24),
+        WEEK("7d", Duration.ofHours(6), 28);
+
+        final String code;
+        final long bucketMillis;
+        final int buckets;
+
+        Window(String code, Duration bucket, int buckets) {
+            this.code = code;
+            this.bucketMillis = bucket.toMillis();
+            this.buckets = buckets;
+        }
+
+        public static Optional<Window> fromCode(String code) {
+            return Arrays.stream(values()).filter(w -> w.code.equals(code)).findFirst();
+        }
+
+        Duration length() {
+            return Duration.ofMillis(bucketMillis * buckets);
+        }
+    }
+
+    static final int MAX_K = 50;
+    // titles tracked per window; several times MAX_K so a title climbing into the top isn't missed
+    static final int CANDIDATES = 4 * MAX_K;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1024;
+
+    private final UserInterestRepository userInterestRepository;
+    private final Clock clock;
+    private final Map<InterestType, TypeTrends> trends = new EnumMap<>(InterestType.class);
+
+    @Autowired
+    public TrendingIndex(UserInterestRepository userInterestRepository) {
+        this(userInterestRepository, Clock.systemUTC());
+    }
+
+    TrendingIndex(UserInterestRepository userInterestRepository, Clock clock) {
+        this.userInterestRepository = userInterestRepository;
+        this.clock = clock;
+        for (InterestType type : InterestType.values()) {
+            trends.put(type, new TypeTrends());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int[] rows = {0};
+        userInterestRepository.forEachSummaryPageSince(clock.instant().minus(Window.WEEK.length()), 1000, page -> {
+            for (UserInterestSummary row : page) {
+                add(row.getInterestType(), row.getTitle(), row.getCreatedAt());
+                rows[0]++;
+            }
+        });
+        log.info("Trending index built from {} interests in {} ms", rows[0], System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onUserInterestEvent(UserInterestEvent event) {
+        if (event.kind() == UserInterestEvent.Kind.CREATED) {
+            add(event.interestType(), event.title(), event.createdAt());
+        }
+    }
+
+    public void add(InterestType type, String title, Instant createdAt) {
+        String key = RecommendationIndex.normalize(title);
+        if (type == null || key == null) return;
+        long now = clock.millis();
+        long at = createdAt == null ? now : Math.min(createdAt.toEpochMilli(), now);
+        trends.get(type).add(key, title.trim(), hash(key), at, now);
+    }
+
+    /**
+     * Up to k titles of the type added most often within the window, best first.
+     * Counts are count-min estimates: never lower than the true count, rarely higher.
+     */
+    public List<TrendingTitleDto> top(InterestType type, Window window, int k) {
+        return trends.get(type).top(window, Math.min(k, MAX_K), clock.millis());
+    }
+
+    private static long hash(String key) {
+        // FNV-1a, then the SplitMix64 finalizer so both halves are usable by the sketch
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    private static final class TypeTrends {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Window, Ring> rings = new EnumMap<>(Window.class);
+
+        TypeTrends() {
+            for (Window window : Window.values()) {
+                rings.put(window, new Ring(window));
+            }
+        }
+
+        void add(String key, String display, long hash, long at, long now) {
+            lock.writeLock().lock();
+            try {
+                for (Ring ring : rings.values()) {
+                    ring.add(key, display, hash, at, now);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<TrendingTitleDto> top(Window window, int k, long now) {
+            if (k <= 0) return List.of();
+            lock.readLock().lock();
+            try {
+                return rings.get(window).top(k, now);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static final class Ring {
+        private final Window window;
+        private final CountMinSketch[] sketches;
+        // bucket number held by each slot; a slot whose bucket fell out of the window counts as empty
+        private final long[] bucketOf;
+        // normalized title -> candidate, and the same candidates weakest first
+        private final Map<String, Candidate> candidates = new HashMap<>();
+        private final TreeSet<Candidate> byEstimate = new TreeSet<>(
+                Comparator.comparingInt((Candidate c) -> c.estimate).thenComparing(c -> c.key));
+        // bucket the stored estimates were computed for; within a bucket counts only grow, so they only
+        // need recomputing once the window moves on
+        private long refreshedFor = Long.MIN_VALUE;
+
+        Ring(Window window) {
+            this.window = window;
+            this.sketches = new CountMinSketch[window.buckets];
+            this.bucketOf = new long[window.buckets];
+            for (int i = 0; i < window.buckets; i++) {
+                sketches[i] = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+                bucketOf[i] = Long.MIN_VALUE;
+            }
+        }
+
+        void add(String key, String display, long hash, long at, long now) {
+            long bucket = at / window.bucketMillis;
+            long current = now / window.bucketMillis;
+            if (bucket <= current - window.buckets) return;
+            int slot = (int) Math.floorMod(bucket, (long) window.buckets);
+            if (bucketOf[slot] != bucket) {
+                // the slot still holds an older bucket (or an out-of-order older row landed here first)
+                if (bucketOf[slot] > bucket) return;
+                sketches[slot].clear();
+                bucketOf[slot] = bucket;
+            }
+            sketches[slot].add(hash);
+            if (refreshedFor != current) refresh(current);
+
+            Candidate candidate = candidates.get(key);
+            int estimate = estimate(hash, current);
+            if (candidate != null) {
+                byEstimate.remove(candidate);
+                candidate.estimate = estimate;
+                byEstimate.add(candidate);
+                return;
+            }
+            if (candidates.size() < CANDIDATES) {
+                track(new Candidate(key, display, hash, estimate));
+                return;
+            }
+            // full: replace the weakest candidate if this title now beats it
+            Candidate weakest = byEstimate.first();
+            if (weakest.estimate < estimate) {
+                byEstimate.pollFirst();
+                candidates.remove(weakest.key);
+                track(new Candidate(key, display, hash, estimate));
+            }
+        }
+
+        private void track(Candidate candidate) {
+            candidates.put(candidate.key, candidate);
+            byEstimate.add(candidate);
+        }
+
+        // expired buckets lower the estimates, and other titles sharing sketch counters may have raised them
+        private void refresh(long current) {
+            byEstimate.clear();
+            for (Candidate candidate : candidates.values()) {
+                candidate.estimate = estimate(candidate.hash, current);
+                byEstimate.add(candidate);
+            }
+            refreshedFor = current;
+        }
+
+        List<TrendingTitleDto> top(int k, long now) {
+            long current = now / window.bucketMillis;
+            PriorityQueue<TrendingTitleDto> heap = new PriorityQueue<>(Comparator.comparingInt(TrendingTitleDto::count));
+            for (Candidate candidate : candidates.values()) {
+                int count = estimate(candidate.hash, current);
+                if (count == 0) continue;
+                heap.add(new TrendingTitleDto(candidate.display, count));
+                if (heap.size() > k) heap.poll();
+            }
+            List<TrendingTitleDto> result = new ArrayList<>(heap);
+            result.sort(Comparator.comparingInt(TrendingTitleDto::count).reversed()
+                    .thenComparing(TrendingTitleDto::title));
+            return result;
+        }
+
+        private int estimate(long hash, long current) {
+            int sum = 0;
+            for (int slot = 0; slot < sketches.length; slot++) {
+                long bucket = bucketOf[slot];
+                if (bucket > current - window.buckets && bucket <= current) {
+                    sum += sketches[slot].estimate(hash);
+                }
+            }
+            return sum;
+        }
+    }
+
+    private static final class Candidate {
+        final String key;
+        final String display;
+        final long hash;
+        int estimate;
+
+        Candidate(String key, String display, long hash, int estimate) {
+            this.key = key;
+            this.display = display;
+            this.hash = hash;
+            this.estimate = estimate;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.Event.UserInterestEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version of everything derived from a user's posts (their interest list and dashboard),
+ * bumped by UserInterestEvents. Conditional GETs compare against it without loading any rows.
+ * Users untouched since startup are at version 0, last modified at startup.
+ */
+@Component
+public class UserVersions {
+
+    private final Clock clock;
+    // reset by invalidateAll, along with the versions
+    private volatile Instant started;
+    // part of every ETag, so tags handed out before a restart (or a full invalidation) never match
+    private volatile long epoch;
+    private final Map<UUID, Version> versions = new ConcurrentHashMap<>();
+
+    public UserVersions() {
+        this(Clock.systemUTC());
+    }
+
+    UserVersions(Clock clock) {
+        this.clock = clock;
+        this.started = clock.instant();
+        this.epoch = started.toEpochMilli();
+    }
+
+    @EventListener
+    public void onUserInterestEvent(UserInterestEvent event) {
+        changed(event.userId());
+    }
+
+    // also called for changes made on other instances (see InvalidationBus)
+    public void changed(UUID userId) {
+        if (userId == null) return;
+        Instant now = clock.instant();
+        versions.merge(userId, new Version(1, now), (old, next) -> new Version(old.number() + 1, now));
+    }
+
+    /**
+     * Makes every ETag handed out so far stale, for when changes may have been missed.
+     */
+    public void invalidateAll() {
+        Instant now = clock.instant();
+        // a new epoch even within the same millisecond as the last one
+        epoch = Math.max(now.toEpochMilli(), epoch + 1);
+        started = now;
+        versions.clear();
+    }
+
+    public String etag(UUID userId) {
+        return "W/\"" + Long.toString(epoch, 36) + "-" + version(userId).number() + "\"";
+    }
+
+    public Instant lastModified(UUID userId) {
+        return version(userId).modified();
+    }
+
+    private Version version(UUID userId) {
+        Version version = versions.get(userId);
+        return version != null ? version : new Version(0, started);
+    }
+
+    private record Version(long number, Instant modified) {}
+}
@@ -0,0 +1,83 @@
+package com.example.recco.Config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrency limit that follows observed latency (AIMD). Once per interval the mean latency of
+ * the requests completed in it is compared with the target: above it the limit is cut by a tenth,
+ * otherwise, if the limit was reached, it grows by sqrt(limit). It never leaves [min, max]; with no
+ * target it stays at max. Times are System.nanoTime() values passed in by the caller.
+ */
+final class AdaptiveLimit {
+
+    private static final double BACKOFF = 0.9;
+
+    private final int min;
+    private final int max;
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final LongAdder latency = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicLong windowEnd;
+    private volatile int limit;
+
+    AdaptiveLimit(int min, int max, long targetNanos, long intervalNanos, long now) {
+        this.min = Math.max(1, Math.min(min, max));
+        this.max = max;
+        this.targetNanos = targetNanos;
+        this.intervalNanos = intervalNanos;
+        this.windowEnd = new AtomicLong(now + intervalNanos);
+        this.limit = max;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                peak.accumulateAndGet(current + 1, Math::max);
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peak.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    void release(long latencyNanos, long now) {
+        inFlight.decrementAndGet();
+        if (targetNanos <= 0) return;
+        latency.add(latencyNanos);
+        samples.increment();
+        long end = windowEnd.get();
+        // one caller per interval gets to adjust
+        if (now - end >= 0 && windowEnd.compareAndSet(end, now + intervalNanos)) {
+            adjust();
+        }
+    }
+
+    private void adjust() {
+        long count = samples.sumThenReset();
+        long total = latency.sumThenReset();
+        int reached = peak.getAndSet(inFlight.get());
+        if (count == 0) return;
+        int current = limit;
+        if (total / count > targetNanos) {
+            limit = Math.max(min, (int) (current * BACKOFF));
+        } else if (reached >= current) {
+            limit = Math.min(max, current + Math.max(1, (int) Math.sqrt(current)));
+        }
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
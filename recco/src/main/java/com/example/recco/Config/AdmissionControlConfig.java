@@ -0,0 +1,61 @@
+package com.example.recco.Config;
+
+import com.example.recco.Auth.JwtUtils;
+import com.example.recco.Config.AdmissionControlFilter.ClientLimits;
+import com.example.recco.Config.AdmissionControlFilter.EndpointClass;
+import com.example.recco.Config.AdmissionControlFilter.Limits;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admission control (see AdmissionControlFilter), on unless recco.admission.enabled is false.
+ * Each endpoint class reads recco.admission.{class}.max-concurrent, .min-concurrent, .target-latency,
+ * .rate and .burst; a class with none of them set is not limited.
+ */
+@Configuration
+@ConditionalOnBooleanProperty(name = "recco.admission.enabled", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(JwtUtils jwtUtils, MeterRegistry meterRegistry,
+                                                         Environment environment) {
+        Map<EndpointClass, Limits> limits = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = "recco.admission." + endpointClass.key() + ".";
+            double rate = environment.getProperty(prefix + "rate", Double.class, 0.0);
+            limits.put(endpointClass, new Limits(
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, 0),
+                    environment.getProperty(prefix + "min-concurrent", Integer.class, 1),
+                    environment.getProperty(prefix + "target-latency", Duration.class),
+                    rate,
+                    environment.getProperty(prefix + "burst", Integer.class, (int) Math.ceil(rate))));
+        }
+        return new AdmissionControlFilter(jwtUtils, meterRegistry, limits,
+                environment.getProperty("recco.admission.adjust-interval", Duration.class, Duration.ofSeconds(1)),
+                clientLimits(environment, "recco.admission.per-user."),
+                clientLimits(environment, "recco.admission.per-ip."),
+                environment.getProperty("recco.admission.clients.max-size", Long.class, 100_000L),
+                environment.getProperty("recco.admission.clients.idle-expiry", Duration.class, Duration.ofMinutes(5)));
+    }
+
+    // runs inside the security chain, ahead of AuthTokenFilter; not as a plain servlet filter as well
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(AdmissionControlFilter filter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    private static ClientLimits clientLimits(Environment environment, String prefix) {
+        double rate = environment.getProperty(prefix + "rate", Double.class, 0.0);
+        return new ClientLimits(rate, environment.getProperty(prefix + "burst", Integer.class, (int) Math.ceil(rate)));
+    }
+}
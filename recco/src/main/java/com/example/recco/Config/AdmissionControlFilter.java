@@ -0,0 +1,257 @@
+package com.example.recco.Config;
+
+import com.example.recco.Auth.JwtUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Admission control in front of authentication, so an overloaded class of endpoints is turned away
+ * before it costs a token check, a thread or a connection. In order, a request must get a token from
+ * its client's bucket (the JWT subject when the token verifies, and the remote address), from its
+ * endpoint class's bucket, and a slot under the class's adaptive concurrency limit. Over a rate it
+ * gets 429, over the concurrency limit 503, both with Retry-After and no body. A request turned
+ * away by one of these checks gets back the tokens the earlier ones took. The client address is the
+ * X-Forwarded-For one when server.forward-headers-strategy is set.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpoints grouped by what they cost. Each class has its own bucket and concurrency limit, so
+     * bcrypt logins or full scans can't take every thread from the cheap lookups.
+     */
+    public enum EndpointClass {
+        // bcrypt on every login and registration
+        AUTH,
+        // GET /api/users, unfiltered post listings of a type, and the batch import
+        SCAN,
+        // long-lived SSE connections: rate-limited on connect, never counted as in flight
+        STREAM,
+        DEFAULT;
+
+        static EndpointClass of(HttpServletRequest request) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            String method = request.getMethod();
+            if (path.startsWith("/api/auth/")) return AUTH;
+            if (HttpMethod.GET.matches(method)) {
+                if (path.equals("/api/users")) return SCAN;
+                if (path.startsWith("/api/interests/")) {
+                    if (path.endsWith("/stream")) return STREAM;
+                    if (path.endsWith("/posts") && request.getParameter("userId") == null) return SCAN;
+                }
+            } else if (HttpMethod.POST.matches(method) && path.equals("/api/users/interests/batch")) {
+                return SCAN;
+            }
+            return DEFAULT;
+        }
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * A class's limits: 0 for maxConcurrent or rate means unlimited, and no targetLatency keeps the
+     * concurrency limit fixed at maxConcurrent.
+     */
+    public record Limits(int maxConcurrent, int minConcurrent, Duration targetLatency, double rate, int burst) {}
+
+    /** A client bucket: rate per second and burst; 0 rate turns it off. */
+    public record ClientLimits(double rate, int burst) {}
+
+    private final JwtUtils jwtUtils;
+    private final MeterRegistry meterRegistry;
+    private final Map<EndpointClass, Lane> lanes = new EnumMap<>(EndpointClass.class);
+    private final ClientLimits perUser;
+    private final ClientLimits perIp;
+    private final Cache<String, TokenBucket> userBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+
+    public AdmissionControlFilter(JwtUtils jwtUtils, MeterRegistry meterRegistry, Map<EndpointClass, Limits> limits,
+                                  Duration adjustInterval, ClientLimits perUser, ClientLimits perIp,
+                                  long maxClients, Duration clientIdleExpiry) {
+        this.jwtUtils = jwtUtils;
+        this.meterRegistry = meterRegistry;
+        this.perUser = perUser;
+        this.perIp = perIp;
+        long now = System.nanoTime();
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            Limits classLimits = limits.getOrDefault(endpointClass, new Limits(0, 1, null, 0, 0));
+            lanes.put(endpointClass, new Lane(classLimits, adjustInterval, now));
+        }
+        // idle clients' buckets are full again anyway, so dropping them loses nothing
+        this.userBuckets = Caffeine.newBuilder().maximumSize(maxClients).expireAfterAccess(clientIdleExpiry).build();
+        this.ipBuckets = Caffeine.newBuilder().maximumSize(maxClients).expireAfterAccess(clientIdleExpiry).build();
+        bindMetrics();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights are answered by the CorsFilter ahead of this one anyway
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/")
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        Lane lane = lanes.get(endpointClass);
+        long now = System.nanoTime();
+
+        TokenBucket ipBucket = bucket(ipBuckets, perIp, request.getRemoteAddr(), now);
+        long wait = ipBucket == null ? 0 : ipBucket.tryAcquire(now);
+        if (wait > 0) {
+            reject(response, endpointClass, "ip", HttpStatus.TOO_MANY_REQUESTS, wait);
+            return;
+        }
+        TokenBucket userBucket = bucket(userBuckets, perUser, subject(request), now);
+        wait = userBucket == null ? 0 : userBucket.tryAcquire(now);
+        if (wait > 0) {
+            refund(ipBucket);
+            reject(response, endpointClass, "user", HttpStatus.TOO_MANY_REQUESTS, wait);
+            return;
+        }
+        wait = lane.bucket == null ? 0 : lane.bucket.tryAcquire(now);
+        if (wait > 0) {
+            refund(ipBucket, userBucket);
+            reject(response, endpointClass, "rate", HttpStatus.TOO_MANY_REQUESTS, wait);
+            return;
+        }
+        if (lane.limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!lane.limit.tryAcquire()) {
+            refund(ipBucket, userBucket, lane.bucket);
+            // the class is already at capacity; a second is about how long the requests ahead take to drain
+            reject(response, endpointClass, "concurrency", HttpStatus.SERVICE_UNAVAILABLE, 1_000_000_000L);
+            return;
+        }
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // register and the streamed listings finish on another thread; hold the slot until then
+                request.getAsyncContext().addListener(new ReleaseOnComplete(lane.limit, now));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                long end = System.nanoTime();
+                lane.limit.release(end - now, end);
+            }
+        }
+    }
+
+    // the verified-token cache makes this a lookup for every token AuthTokenFilter has seen before
+    private String subject(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(header) || !header.startsWith("Bearer ")) return null;
+        return jwtUtils.verify(header.substring(7)).map(Claims::getSubject).orElse(null);
+    }
+
+    private static TokenBucket bucket(Cache<String, TokenBucket> buckets, ClientLimits limits, String key, long now) {
+        if (key == null || limits.rate() <= 0) return null;
+        return buckets.get(key, k -> new TokenBucket(limits.rate(), limits.burst(), now));
+    }
+
+    private static void refund(TokenBucket... taken) {
+        for (TokenBucket bucket : taken) {
+            if (bucket != null) bucket.refund();
+        }
+    }
+
+    // status only: a body or sendError would cost an error dispatch, which this chain would refuse anyway
+    private void reject(HttpServletResponse response, EndpointClass endpointClass, String reason,
+                        HttpStatus status, long waitNanos) {
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        Counter.builder("recco.admission.rejected")
+                .tag("class", endpointClass.key())
+                .tag("reason", reason)
+                .description("Requests turned away by admission control")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void bindMetrics() {
+        lanes.forEach((endpointClass, lane) -> {
+            if (lane.limit != null) {
+                Gauge.builder("recco.admission.limit", lane.limit, AdaptiveLimit::limit)
+                        .tag("class", endpointClass.key())
+                        .description("Current adaptive concurrency limit")
+                        .register(meterRegistry);
+                Gauge.builder("recco.admission.in.flight", lane.limit, AdaptiveLimit::inFlight)
+                        .tag("class", endpointClass.key())
+                        .register(meterRegistry);
+            }
+            if (lane.bucket != null) {
+                Gauge.builder("recco.admission.tokens", lane.bucket, bucket -> bucket.available(System.nanoTime()))
+                        .tag("class", endpointClass.key())
+                        .description("Tokens left in the endpoint class's bucket")
+                        .register(meterRegistry);
+            }
+        });
+        Gauge.builder("recco.admission.clients", userBuckets, Cache::estimatedSize)
+                .tag("kind", "user")
+                .description("Client buckets being tracked")
+                .register(meterRegistry);
+        Gauge.builder("recco.admission.clients", ipBuckets, Cache::estimatedSize)
+                .tag("kind", "ip")
+                .register(meterRegistry);
+    }
+
+    private static final class Lane {
+        final TokenBucket bucket;
+        final AdaptiveLimit limit;
+
+        Lane(Limits limits, Duration adjustInterval, long now) {
+            this.bucket = limits.rate() > 0 ? new TokenBucket(limits.rate(), limits.burst(), now) : null;
+            long target = limits.targetLatency() == null ? 0 : limits.targetLatency().toNanos();
+            this.limit = limits.maxConcurrent() > 0
+                    ? new AdaptiveLimit(limits.minConcurrent(), limits.maxConcurrent(), target, adjustInterval.toNanos(), now)
+                    : null;
+        }
+    }
+
+    private record ReleaseOnComplete(AdaptiveLimit limit, long start) implements AsyncListener {
+        // the container always ends with onComplete, after a timeout or error too
+        @Override
+        public void onComplete(AsyncEvent event) {
+            long now = System.nanoTime();
+            limit.release(now - start, now);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {}
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.recco.Config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests in flight. With virtual threads nothing else bounds concurrency,
+ * so without this every request would pile up waiting on a Hikari connection until its timeout.
+ * Waiting here is cheap, and requests that can't get a permit in time get a fast 503.
+ * Async requests (login/register, streamed listings) keep their permit until they complete. SSE
+ * subscriptions are the exception: they stay open for minutes and do no work in between, so they
+ * give their permit back as soon as the subscribing thread returns.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMs = acquireTimeout.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy");
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted() && !isEventStream(request, response)) {
+                // the bcrypt or database work runs after this thread returns; release once it is done
+                request.getAsyncContext().addListener(new ReleaseOnComplete(permits));
+                async = true;
+            }
+        } finally {
+            if (!async) permits.release();
+        }
+    }
+
+    // the same requests AdmissionControlFilter never counts as in flight
+    private static boolean isEventStream(HttpServletRequest request, HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return AdmissionControlFilter.EndpointClass.of(request) == AdmissionControlFilter.EndpointClass.STREAM
+                || (contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private record ReleaseOnComplete(Semaphore permits) implements AsyncListener {
+        // the container always ends with onComplete, after a timeout or error too
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {}
+    }
+}
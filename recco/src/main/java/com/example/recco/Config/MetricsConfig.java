@@ -0,0 +1,55 @@
+package com.example.recco.Config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Wires RequestStatistics into Hibernate and registers the per-request metrics filter.
+ * Endpoint timers (http.server.requests), Hikari pool metrics and global Hibernate statistics
+ * are bound by Boot's actuator auto-configuration; see management.* in application.yaml.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatementInspector(RequestStatistics requestStatistics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestStatistics);
+    }
+
+    @Bean
+    public SmartInitializingSingleton requestStatisticsListeners(EntityManagerFactory entityManagerFactory,
+                                                                  RequestStatistics requestStatistics) {
+        return () -> {
+            EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().requireService(EventListenerRegistry.class);
+            listeners.appendListeners(EventType.POST_LOAD, requestStatistics);
+            listeners.appendListeners(EventType.INIT_COLLECTION, requestStatistics);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(
+            RequestStatistics requestStatistics, MeterRegistry meterRegistry,
+            @Value("${recco.metrics.slow-request.threshold:500ms}") Duration slowThreshold,
+            @Value("${recco.metrics.slow-request.sample-rate:0.1}") double slowSampleRate) {
+        FilterRegistrationBean<RequestMetricsFilter> registration = new FilterRegistrationBean<>(
+                new RequestMetricsFilter(requestStatistics, meterRegistry, slowThreshold, slowSampleRate));
+        registration.addUrlPatterns("/api/*");
+        // inside the concurrency limiter, so rejected requests aren't counted
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.recco.Config;
+
+import com.example.recco.Component.ReadYourWrites;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * With recco.replicas.urls set, wraps Boot's primary DataSource in a ReplicaRoutingDataSource.
+ * Each replica gets its own Hikari pool, configured like the primary's apart from the settings
+ * under recco.replicas.*. Service methods opt in with @Transactional(readOnly = true).
+ * Read-only transactions that go to a replica bypass the second-level and query caches, so what a
+ * lagging replica returns is never put into them. Reading from the caches is bypassed as well: on a
+ * query cache miss Hibernate stores the result even under CacheMode.GET.
+ */
+@Configuration
+@ConditionalOnExpression("!'${recco.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    public static BeanPostProcessor replicaRouting(Environment environment, ObjectProvider<ReadYourWrites> readYourWrites) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // the transaction manager takes its dialect from the factory, once it is initialized
+                if (bean instanceof LocalContainerEntityManagerFactoryBean factory
+                        && factory.getDataSource() instanceof ReplicaRoutingDataSource routing) {
+                    factory.setJpaDialect(new ReplicaCacheBypassDialect(routing));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof HikariDataSource primary)) return bean;
+                return routing(primary, environment, () -> {
+                    ReadYourWrites writes = readYourWrites.getIfAvailable();
+                    return writes != null && writes.pinned();
+                });
+            }
+        };
+    }
+
+    private static ReplicaRoutingDataSource routing(HikariDataSource primary, Environment environment,
+                                                    BooleanSupplier pinned) {
+        String[] urls = environment.getRequiredProperty("recco.replicas.urls", String[].class);
+        List<HikariDataSource> replicas = new ArrayList<>(urls.length);
+        for (int i = 0; i < urls.length; i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(urls[i].trim());
+            config.setPoolName("replica-" + (i + 1));
+            String username = environment.getProperty("recco.replicas.username");
+            if (username != null) config.setUsername(username);
+            String password = environment.getProperty("recco.replicas.password");
+            if (password != null) config.setPassword(password);
+            config.setMaximumPoolSize(environment.getProperty("recco.replicas.pool-size", Integer.class,
+                    primary.getMaximumPoolSize()));
+            // short, so a dead replica costs one read a second at most before it is skipped
+            config.setConnectionTimeout(environment.getProperty("recco.replicas.connection-timeout", Duration.class,
+                    Duration.ofSeconds(1)).toMillis());
+            // start even while a replica is down; reads use the others or the primary meanwhile
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas,
+                environment.getProperty("recco.replicas.selection", ReplicaRoutingDataSource.Selection.class,
+                        ReplicaRoutingDataSource.Selection.ROUND_ROBIN),
+                environment.getProperty("recco.replicas.retry-after", Duration.class, Duration.ofSeconds(10)),
+                pinned);
+    }
+
+    private static final class ReplicaCacheBypassDialect extends HibernateJpaDialect {
+        private final ReplicaRoutingDataSource routing;
+
+        ReplicaCacheBypassDialect(ReplicaRoutingDataSource routing) {
+            this.routing = routing;
+        }
+
+        @Override
+        public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+                throws PersistenceException, SQLException {
+            Object data = super.beginTransaction(entityManager, definition);
+            if (!definition.isReadOnly() || !routing.readsFromReplica()) return data;
+            // both modes BYPASS is CacheMode.IGNORE for the session; restored for whatever uses it next
+            Map<String, Object> properties = entityManager.getProperties();
+            ReplicaRead read = new ReplicaRead(data, entityManager,
+                    properties.getOrDefault(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.USE),
+                    properties.getOrDefault(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.USE));
+            entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+            entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+            return read;
+        }
+
+        @Override
+        public void cleanupTransaction(Object transactionData) {
+            if (transactionData instanceof ReplicaRead read) {
+                if (read.entityManager().isOpen()) {
+                    read.entityManager().setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, read.retrieveMode());
+                    read.entityManager().setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, read.storeMode());
+                }
+                super.cleanupTransaction(read.data());
+            } else {
+                super.cleanupTransaction(transactionData);
+            }
+        }
+    }
+
+    private record ReplicaRead(Object data, EntityManager entityManager, Object retrieveMode, Object storeMode) {}
+}
@@ -0,0 +1,147 @@
+package com.example.recco.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The application's DataSource when read replicas are configured. Read-only transactions get a replica
+ * connection, everything else the primary. The connection is only fetched on the first statement,
+ * once the transaction has marked it read-only (LazyConnectionDataSourceProxy).
+ * A replica that fails to hand out a connection is skipped for retryAfter. Reads go to the primary
+ * when no replica is up, or when pinnedToPrimary says the current user has just written.
+ * A replica may lag the primary, so what is read from one must stay out of the shared second-level
+ * and query caches (see ReadReplicaConfig).
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public enum Selection { ROUND_ROBIN, LEAST_LOADED }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Replicas readOnly;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Selection selection,
+                                    Duration retryAfter, BooleanSupplier pinnedToPrimary) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.readOnly = new Replicas(selection, retryAfter.toNanos(), pinnedToPrimary);
+        setReadOnlyDataSource(readOnly);
+    }
+
+    // whether a read-only transaction beginning now will be given a replica rather than the primary
+    public boolean readsFromReplica() {
+        return readOnly.available();
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+        if (primary instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close the primary DataSource", e);
+            }
+        }
+    }
+
+    private static final class Replica {
+        final HikariDataSource dataSource;
+        // System.nanoTime() until which the replica is skipped
+        volatile long downUntil = Long.MIN_VALUE;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        boolean isUp(long now) {
+            return downUntil == Long.MIN_VALUE || now - downUntil >= 0;
+        }
+
+        // connections in use plus threads waiting for one
+        int load() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+        }
+    }
+
+    private final class Replicas extends AbstractDataSource {
+        private final Selection selection;
+        private final long retryAfterNanos;
+        private final BooleanSupplier pinnedToPrimary;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Replicas(Selection selection, long retryAfterNanos, BooleanSupplier pinnedToPrimary) {
+            this.selection = selection;
+            this.retryAfterNanos = retryAfterNanos;
+            this.pinnedToPrimary = pinnedToPrimary;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (pinnedToPrimary.getAsBoolean()) return primary.getConnection();
+            int n = replicas.size();
+            int first = selection == Selection.LEAST_LOADED ? leastLoaded() : Math.floorMod(next.getAndIncrement(), n);
+            for (int i = 0; i < n; i++) {
+                Replica replica = replicas.get((first + i) % n);
+                if (!replica.isUp(System.nanoTime())) continue;
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.downUntil = System.nanoTime() + retryAfterNanos;
+                    log.warn("Replica {} is unavailable, skipping it for {} ms",
+                            replica.dataSource.getPoolName(), retryAfterNanos / 1_000_000, e);
+                }
+            }
+            return primary.getConnection();
+        }
+
+        boolean available() {
+            if (pinnedToPrimary.getAsBoolean()) return false;
+            long now = System.nanoTime();
+            for (Replica replica : replicas) {
+                if (replica.isUp(now)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLException("Replica connections use the pools' own credentials");
+        }
+
+        private int leastLoaded() {
+            long now = System.nanoTime();
+            int best = 0;
+            int bestLoad = Integer.MAX_VALUE;
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(i);
+                if (!replica.isUp(now)) continue;
+                int load = replica.load();
+                if (load < bestLoad) {
+                    best = i;
+                    bestLoad = load;
+                }
+            }
+            return best;
+        }
+    }
+}
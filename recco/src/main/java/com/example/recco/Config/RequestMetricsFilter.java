@@ -0,0 +1,78 @@
+package com.example.recco.Config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records RequestStatistics per request as distribution summaries tagged with the handler's URI
+ * pattern, and logs a sample of slow requests with their SQL counts.
+ * Request timers themselves come from Boot's http.server.requests observation.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final RequestStatistics requestStatistics;
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final double slowSampleRate;
+
+    public RequestMetricsFilter(RequestStatistics requestStatistics, MeterRegistry meterRegistry,
+                                Duration slowThreshold, double slowSampleRate) {
+        this.requestStatistics = requestStatistics;
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowSampleRate = slowSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatistics.Counts counts = requestStatistics.begin();
+        if (counts == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            requestStatistics.end();
+            record(request, counts, elapsed);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatistics.Counts counts, long elapsedNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summary("recco.request.sql.statements", uri, request).record(counts.statements());
+        summary("recco.request.entity.loads", uri, request).record(counts.entityLoads());
+        summary("recco.request.collection.fetches", uri, request).record(counts.collectionFetches());
+
+        if (elapsedNanos >= slowThresholdNanos && ThreadLocalRandom.current().nextDouble() < slowSampleRate) {
+            log.warn("Slow request {} {} took {} ms: {} statements, {} entity loads, {} collection fetches",
+                    request.getMethod(), uri, elapsedNanos / 1_000_000,
+                    counts.statements(), counts.entityLoads(), counts.collectionFetches());
+        }
+    }
+
+    private DistributionSummary summary(String name, String uri, HttpServletRequest request) {
+        return DistributionSummary.builder(name)
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry);
+    }
+}
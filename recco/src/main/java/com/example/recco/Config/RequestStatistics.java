@@ -0,0 +1,68 @@
+package com.example.recco.Config;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-request Hibernate counters: SQL statements, entity loads and collection initializations
+ * issued on the current thread. Hibernate's own Statistics are global, so they can't say which
+ * request caused what. Work done after an async hand-off is not attributed to the request.
+ */
+@Component
+public class RequestStatistics implements StatementInspector, PostLoadEventListener, InitializeCollectionEventListener {
+
+    public static final class Counts {
+        int statements;
+        int entityLoads;
+        int collectionFetches;
+
+        public int statements() { return statements; }
+        public int entityLoads() { return entityLoads; }
+        public int collectionFetches() { return collectionFetches; }
+    }
+
+    private final ThreadLocal<Counts> current = new ThreadLocal<>();
+
+    /**
+     * Starts counting for the current thread; returns null if a scope is already open
+     * (e.g. a forward), in which case the outer scope keeps counting.
+     */
+    public Counts begin() {
+        if (current.get() != null) return null;
+        Counts counts = new Counts();
+        current.set(counts);
+        return counts;
+    }
+
+    public void end() {
+        current.remove();
+    }
+
+    // the counts of the enclosing request, or null outside one
+    public Counts current() {
+        return current.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = current.get();
+        if (counts != null) counts.statements++;
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Counts counts = current.get();
+        if (counts != null) counts.entityLoads++;
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        Counts counts = current.get();
+        if (counts != null) counts.collectionFetches++;
+    }
+}
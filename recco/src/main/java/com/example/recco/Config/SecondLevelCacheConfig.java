@@ -0,0 +1,95 @@
+package com.example.recco.Config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache on JCache (Caffeine). Every region is created here, bounded by
+ * recco.l2-cache.{region}.max-size and .ttl, and Hibernate is set to fail on any region it would
+ * otherwise create unbounded. Each region gets a recco.cache.hit.ratio gauge next to the
+ * hibernate.second.level.cache.* counters from actuator.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // entity, collection and natural-id regions named on User and UserInterest, and the query region
+    // named in UserInterestRepository's hints
+    static final List<String> REGIONS = List.of("users", "users-by-email", "user-dashboard-interests",
+            "user-interests", "user-interest-queries", "default-query-results-region");
+    // when each table was last written; query results older than that are discarded, so it is never evicted
+    static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private static final long DEFAULT_MAX_SIZE = 10_000;
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        // one manager per application context, so contexts (as in tests) never share cached rows
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("recco-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            long maxSize = environment.getProperty("recco.l2-cache." + region + ".max-size", Long.class, DEFAULT_MAX_SIZE);
+            Duration ttl = environment.getProperty("recco.l2-cache." + region + ".ttl", Duration.class, DEFAULT_TTL);
+            cacheManager.createCache(region, configuration()
+                    .setMaximumSize(OptionalLong.of(maxSize))
+                    .setExpireAfterWrite(OptionalLong.of(ttl.toNanos())));
+        }
+        cacheManager.createCache(UPDATE_TIMESTAMPS, configuration());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : REGIONS) {
+                Gauge.builder("recco.cache.hit.ratio", statistics, s -> hitRatio(s.getCacheRegionStatistics(region)))
+                        .tag("region", region)
+                        .description("Second-level cache hits over lookups since startup")
+                        .register(registry);
+            }
+        };
+    }
+
+    static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) return Double.NaN;
+        long lookups = region.getHitCount() + region.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) region.getHitCount() / lookups;
+    }
+
+    // entries are Hibernate's own disassembled copies, so there is no need to copy them again
+    private static <K, V> CaffeineConfiguration<K, V> configuration() {
+        return new CaffeineConfiguration<K, V>().setStoreByValue(false).setStatisticsEnabled(true);
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.recco.Config;
 
 import com.example.recco.Auth.AuthTokenFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,10 +19,13 @@ public class SecurityConfig {
 
     private final AuthTokenFilter authTokenFilter;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final ObjectProvider<AdmissionControlFilter> admissionControlFilter;
 
-    public SecurityConfig(AuthTokenFilter authTokenFilter, CorsConfigurationSource corsConfigurationSource) {
+    public SecurityConfig(AuthTokenFilter authTokenFilter, CorsConfigurationSource corsConfigurationSource,
+                          ObjectProvider<AdmissionControlFilter> admissionControlFilter) {
         this.authTokenFilter = authTokenFilter;
         this.corsConfigurationSource = corsConfigurationSource;
+        this.admissionControlFilter = admissionControlFilter;
     }
 
     @Bean
@@ -29,13 +35,26 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // async (CompletableFuture / streaming) dispatches were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/users/*/dashboard").authenticated()
                         .anyRequest().authenticated()
                 );
 
         http.addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        // shed load before the token is even checked (absent when recco.admission.enabled is false)
+        admissionControlFilter.ifAvailable(filter -> http.addFilterBefore(filter, AuthTokenFilter.class));
 
         return http.build();
     }
+
+    // AuthTokenFilter is a @Component, so Boot would also register it as a plain servlet filter.
+    // Keep it in the security chain only so authentication runs once per request.
+    @Bean
+    public FilterRegistrationBean<AuthTokenFilter> authTokenFilterRegistration(AuthTokenFilter filter) {
+        FilterRegistrationBean<AuthTokenFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
\ No newline at end of file
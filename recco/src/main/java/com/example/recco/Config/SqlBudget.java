@@ -0,0 +1,17 @@
+package com.example.recco.Config;
+
+import java.lang.annotation.*;
+
+/**
+ * Maximum number of SQL statements a handler may issue per request, checked by SqlBudgetInterceptor.
+ * On a class it applies to every handler that doesn't declare its own.
+ * Statements run by authentication before the handler (a principal cache miss) are not counted.
+ * Async handlers (CompletableFuture, StreamingResponseBody, SseEmitter, ...) are not checked, not even
+ * against a class-level budget: most of their SQL runs on other threads after the hand-off.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+    int value();
+}
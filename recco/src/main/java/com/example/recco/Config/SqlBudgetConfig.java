@@ -0,0 +1,23 @@
+package com.example.recco.Config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class SqlBudgetConfig implements WebMvcConfigurer {
+
+    private final SqlBudgetInterceptor sqlBudgetInterceptor;
+
+    public SqlBudgetConfig(RequestStatistics requestStatistics, MeterRegistry meterRegistry,
+                           @Value("${recco.sql-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        this.sqlBudgetInterceptor = new SqlBudgetInterceptor(requestStatistics, meterRegistry, failOnExceed);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlBudgetInterceptor).addPathPatterns("/api/**");
+    }
+}
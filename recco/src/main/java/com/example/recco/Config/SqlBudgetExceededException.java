@@ -0,0 +1,12 @@
+package com.example.recco.Config;
+
+/**
+ * A handler issued more SQL statements than its SqlBudget. Only thrown when
+ * recco.sql-budget.fail-on-exceed is set (tests); production logs and counts instead.
+ */
+public class SqlBudgetExceededException extends IllegalStateException {
+
+    public SqlBudgetExceededException(String handler, int budget, int used) {
+        super(handler + " issued " + used + " SQL statements, budget is " + budget);
+    }
+}
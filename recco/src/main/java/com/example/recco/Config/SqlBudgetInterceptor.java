@@ -0,0 +1,99 @@
+package com.example.recco.Config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Compares the statements a handler issued (from RequestStatistics) with its SqlBudget.
+ * Over budget: recco.sql.budget.exceeded is incremented and a warning logged, and with
+ * failOnExceed the request fails with SqlBudgetExceededException.
+ * Async handlers are not checked: their SQL runs on other threads, which RequestStatistics doesn't see.
+ */
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetInterceptor.class);
+    private static final String START_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".start";
+    // return types (also inside ResponseEntity) whose work continues after the handler returns
+    private static final List<Class<?>> ASYNC_TYPES = List.of(CompletionStage.class, Callable.class,
+            DeferredResult.class, WebAsyncTask.class, StreamingResponseBody.class, ResponseBodyEmitter.class);
+
+    private final RequestStatistics requestStatistics;
+    private final MeterRegistry meterRegistry;
+    private final boolean failOnExceed;
+
+    public SqlBudgetInterceptor(RequestStatistics requestStatistics, MeterRegistry meterRegistry, boolean failOnExceed) {
+        this.requestStatistics = requestStatistics;
+        this.meterRegistry = meterRegistry;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStatistics.Counts counts = requestStatistics.current();
+        if (counts != null && budget(handler) != null) {
+            request.setAttribute(START_ATTRIBUTE, counts.statements());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        check(request, handler, failOnExceed);
+    }
+
+    private void check(HttpServletRequest request, Object handler, boolean fail) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        RequestStatistics.Counts counts = requestStatistics.current();
+        if (!(start instanceof Integer startCount) || counts == null) return;
+        request.removeAttribute(START_ATTRIBUTE);
+
+        SqlBudget budget = budget(handler);
+        int used = counts.statements() - startCount;
+        if (used <= budget.value()) return;
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Counter.builder("recco.sql.budget.exceeded")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .increment();
+        log.warn("SQL budget exceeded by {} {}: {} statements, budget {}", request.getMethod(), uri, used, budget.value());
+        if (fail) {
+            throw new SqlBudgetExceededException(request.getMethod() + " " + uri, budget.value(), used);
+        }
+    }
+
+    private static SqlBudget budget(Object handler) {
+        if (!(handler instanceof HandlerMethod method) || isAsync(method)) return null;
+        SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), SqlBudget.class);
+        return budget != null ? budget : AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), SqlBudget.class);
+    }
+
+    static boolean isAsync(HandlerMethod method) {
+        ResolvableType type = ResolvableType.forMethodReturnType(method.getMethod());
+        if (ResponseEntity.class.isAssignableFrom(type.toClass())) type = type.getGeneric(0);
+        Class<?> returned = type.toClass();
+        return ASYNC_TYPES.stream().anyMatch(async -> async.isAssignableFrom(returned));
+    }
+}
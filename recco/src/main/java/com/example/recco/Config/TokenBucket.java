@@ -0,0 +1,45 @@
+package com.example.recco.Config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket refilled at ratePerSecond up to burst tokens, kept as a single "theoretical
+ * arrival time" (GCRA) so taking a token is one CAS and there is no refill thread.
+ * Times are System.nanoTime() values passed in by the caller.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    // when the bucket would be full again; a new bucket starts full
+    private final AtomicLong fullAt;
+
+    TokenBucket(double ratePerSecond, int burst, long now) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token; returns 0 if one was available, otherwise the nanoseconds until there is one.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current - now, 0) + intervalNanos;
+            if (next > burstNanos) return next - burstNanos;
+            if (fullAt.compareAndSet(current, now + next)) return 0;
+        }
+    }
+
+    /**
+     * Gives back a token taken by a request that was turned away by a later check.
+     */
+    void refund() {
+        fullAt.addAndGet(-intervalNanos);
+    }
+
+    double available(long now) {
+        return (double) (burstNanos - Math.max(fullAt.get() - now, 0)) / intervalNanos;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.recco.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread mode, switched on with spring.threads.virtual.enabled (RECCO_VIRTUAL_THREADS).
+ * Boot then serves requests and runs the application task executor on virtual threads;
+ * this adds the request limiter sized against the Hikari pool.
+ */
+@Configuration
+@ConditionalOnBooleanProperty("spring.threads.virtual.enabled")
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${recco.virtual-threads.requests-per-connection:4}") int requestsPerConnection,
+            @Value("${recco.virtual-threads.acquire-timeout:2s}") Duration acquireTimeout) {
+        // most requests hold a connection for only part of their time, so allow a few per connection
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(poolSize * requestsPerConnection, acquireTimeout);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
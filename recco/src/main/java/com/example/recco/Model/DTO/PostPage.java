@@ -0,0 +1,21 @@
+package com.example.recco.Model.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A page of posts, shaped like CursorPage. With include=users the owners of the posts
+ * are side-loaded once each in users, keyed by PostDto.userId; otherwise users is left out.
+ */
+public record PostPage(
+        List<PostDto> items,
+        String nextCursor,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Map<UUID, UserSummaryDto> users
+) {
+    public static PostPage of(CursorPage<PostDto> page, Map<UUID, UserSummaryDto> users) {
+        return new PostPage(page.items(), page.nextCursor(), users);
+    }
+}
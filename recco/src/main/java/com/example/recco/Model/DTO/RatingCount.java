@@ -0,0 +1,12 @@
+package com.example.recco.Model.DTO;
+
+import com.example.recco.Model.InterestType;
+
+/**
+ * Number of posts of one interest type carrying one rating value, from a grouped query.
+ */
+public interface RatingCount {
+    InterestType getInterestType();
+    String getRating();
+    long getPosts();
+}
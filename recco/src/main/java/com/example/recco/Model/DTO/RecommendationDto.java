@@ -0,0 +1,6 @@
+package com.example.recco.Model.DTO;
+
+public record RecommendationDto(
+        String title,
+        int score
+) {}
@@ -0,0 +1,12 @@
+package com.example.recco.Model.DTO;
+
+import java.util.UUID;
+
+public record SearchHitDto(
+        Long id,
+        UUID userId,
+        String interestType,
+        String title,
+        String description,
+        float score
+) {}
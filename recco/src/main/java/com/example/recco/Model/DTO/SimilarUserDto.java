@@ -0,0 +1,8 @@
+package com.example.recco.Model.DTO;
+
+import java.util.UUID;
+
+public record SimilarUserDto(
+        UUID userId,
+        double score
+) {}
@@ -0,0 +1,20 @@
+package com.example.recco.Model.DTO;
+
+import com.example.recco.Model.InterestType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat projection of a user_interests row, used to warm in-memory indexes without loading entities.
+ */
+public interface UserInterestSummary {
+    Long getId();
+    UUID getUserId();
+    InterestType getInterestType();
+    String getTitle();
+    String getDescription();
+    String getRating();
+    Instant getCreatedAt();
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,10 @@
+package com.example.recco.Model.DTO;
+
+import java.util.UUID;
+
+// what a post listing needs to show an owner; email and dashboard settings stay out of listings
+public record UserSummaryDto(
+        UUID id,
+        String name,
+        String surname
+) {}
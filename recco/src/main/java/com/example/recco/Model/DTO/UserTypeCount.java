@@ -0,0 +1,14 @@
+package com.example.recco.Model.DTO;
+
+import com.example.recco.Model.InterestType;
+
+import java.util.UUID;
+
+/**
+ * Number of posts one user has in one interest type, from a grouped query.
+ */
+public interface UserTypeCount {
+    UUID getUserId();
+    InterestType getInterestType();
+    long getPosts();
+}
@@ -0,0 +1,39 @@
+package com.example.recco.Model.Event;
+
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.UserInterest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published by UserService after a UserInterest row is created, updated or deleted.
+ * Carries a snapshot of the row so listeners never touch the (possibly detached) entity.
+ */
+public record UserInterestEvent(
+        Kind kind,
+        Long id,
+        UUID userId,
+        InterestType interestType,
+        String title,
+        String description,
+        String rating,
+        Instant createdAt,
+        Instant updatedAt
+) {
+    public enum Kind { CREATED, UPDATED, DELETED }
+
+    public static UserInterestEvent of(Kind kind, UserInterest ui) {
+        return new UserInterestEvent(
+                kind,
+                ui.getId(),
+                ui.getUser().getId(),
+                ui.getInterestType(),
+                ui.getTitle(),
+                ui.getDescription(),
+                ui.getRating(),
+                ui.getCreatedAt(),
+                ui.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.recco.Model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Checkpoint of the live per-type counters kept by InterestStats, one row per InterestType.
+ * Read back at startup so the catalog has numbers before the first reconcile.
+ */
+@Entity
+@Table(name = "interest_type_stats")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InterestTypeStats {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "interest_type")
+    private InterestType interestType;
+
+    @Column(nullable = false)
+    private long posts;
+
+    @Column(name = "active_users", nullable = false)
+    private long activeUsers;
+
+    // numeric ratings only, in thousandths so the sum stays exact
+    @Column(name = "rating_millis_sum", nullable = false)
+    private long ratingMillisSum;
+
+    @Column(name = "rated_posts", nullable = false)
+    private long ratedPosts;
+
+    @Column(name = "checkpointed_at", nullable = false)
+    private Instant checkpointedAt;
+}
@@ -7,6 +7,10 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -16,6 +20,9 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+// second-level cached; regions are bounded in SecondLevelCacheConfig
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -28,6 +35,8 @@ public class User {
     private String name;
     private String surname;
 
+    // UserRepository.findByEmail resolves it through the natural-id cache
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -40,6 +49,7 @@ public class User {
 
     @ElementCollection(fetch = FetchType.EAGER)
     @Enumerated(EnumType.STRING)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-dashboard-interests")
     private Set<InterestType> dashboardInterests = new HashSet<>();
 
 
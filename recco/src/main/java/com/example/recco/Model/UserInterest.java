@@ -2,12 +2,17 @@ package com.example.recco.Model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.Instant;
 
 @Entity
-@Table(name = "user_interests")
+// serves both keyset listings of a type: /posts (oldest first) and /feed (newest first)
+@Table(name = "user_interests", indexes = @Index(name = "idx_user_interests_type_created_id",
+        columnList = "interest_type, created_at, id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-interests")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -15,8 +20,10 @@ import java.time.Instant;
 @Setter
 
 public class UserInterest {
+    // pooled sequence instead of IDENTITY so Hibernate can batch inserts (see migrate_user_interests_sequence.sql)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_interests_seq")
+    @SequenceGenerator(name = "user_interests_seq", sequenceName = "user_interests_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.EAGER)
@@ -0,0 +1,10 @@
+package com.example.recco.Repository;
+
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.InterestTypeStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InterestTypeStatsRepository extends JpaRepository<InterestTypeStats, InterestType> {
+}
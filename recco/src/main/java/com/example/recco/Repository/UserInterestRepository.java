@@ -1,18 +1,159 @@
 package com.example.recco.Repository;
 
+import com.example.recco.Model.DTO.RatingCount;
+import com.example.recco.Model.DTO.UserInterestSummary;
+import com.example.recco.Model.DTO.UserTypeCount;
 import com.example.recco.Model.InterestType;
 import com.example.recco.Model.UserInterest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 @Repository
 public interface UserInterestRepository extends JpaRepository<UserInterest, Long> {
-    List<UserInterest> findByUserId(UUID userId);
-    List<UserInterest> findByInterestType(InterestType interestType);
-    List<UserInterest> findByInterestTypeAndUserId(InterestType interestType, UUID userId);
+    // flat rows for the post listings: the owner is referenced by id, so no user join or fetch
+    // The per-user finders are query-cached; any write to user_interests invalidates the region
+    @Query("""
+            select ui.id as id, ui.user.id as userId, ui.interestType as interestType, ui.title as title,
+                   ui.description as description, ui.rating as rating,
+                   ui.createdAt as createdAt, ui.updatedAt as updatedAt
+            from UserInterest ui
+            where ui.user.id = :userId
+            order by ui.createdAt asc, ui.id asc
+            """)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-interest-queries")})
+    List<UserInterestSummary> findSummariesByUserId(UUID userId);
 
+    @Query("""
+            select ui.id as id, ui.user.id as userId, ui.interestType as interestType, ui.title as title,
+                   ui.description as description, ui.rating as rating,
+                   ui.createdAt as createdAt, ui.updatedAt as updatedAt
+            from UserInterest ui
+            where ui.interestType = :interestType and ui.user.id = :userId
+            order by ui.createdAt asc, ui.id asc
+            """)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-interest-queries")})
+    List<UserInterestSummary> findSummariesByInterestTypeAndUserId(InterestType interestType, UUID userId);
 
+    // projection: only the distinct types, no rows or users
+    @Query("select distinct ui.interestType from UserInterest ui where ui.user.id = :userId")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-interest-queries")})
+    Set<InterestType> findInterestTypesByUserId(UUID userId);
+
+    // keyset pagination on (created_at, id), oldest first
+    @Query("""
+            select ui.id as id, ui.user.id as userId, ui.interestType as interestType, ui.title as title,
+                   ui.description as description, ui.rating as rating,
+                   ui.createdAt as createdAt, ui.updatedAt as updatedAt
+            from UserInterest ui
+            where ui.interestType = :interestType
+            order by ui.createdAt asc, ui.id asc
+            """)
+    List<UserInterestSummary> findSummariesByInterestType(InterestType interestType, Limit limit);
+
+    @Query("""
+            select ui.id as id, ui.user.id as userId, ui.interestType as interestType, ui.title as title,
+                   ui.description as description, ui.rating as rating,
+                   ui.createdAt as createdAt, ui.updatedAt as updatedAt
+            from UserInterest ui
+            where ui.interestType = :interestType
+              and (ui.createdAt > :createdAt or (ui.createdAt = :createdAt and ui.id > :id))
+            order by ui.createdAt asc, ui.id asc
+            """)
+    List<UserInterestSummary> findSummariesByInterestTypeAfter(InterestType interestType, Instant createdAt, Long id, Limit limit);
+
+    // flat rows in id order, for rebuilding in-memory indexes page by page
+    @Query("""
+            select ui.id as id, ui.user.id as userId, ui.interestType as interestType, ui.title as title,
+                   ui.description as description, ui.rating as rating,
+                   ui.createdAt as createdAt, ui.updatedAt as updatedAt
+            from UserInterest ui
+            where ui.id > :afterId
+            order by ui.id asc
+            """)
+    List<UserInterestSummary> findSummariesAfter(Long afterId, Limit limit);
+
+    @Query("""
+            select ui.id as id, ui.user.id as userId, ui.interestType as interestType, ui.title as title,
+                   ui.description as description, ui.rating as rating,
+                   ui.createdAt as createdAt, ui.updatedAt as updatedAt
+            from UserInterest ui
+            where ui.id > :afterId and ui.createdAt >= :since
+            order by ui.id asc
+            """)
+    List<UserInterestSummary> findSummariesCreatedSinceAfter(Instant since, Long afterId, Limit limit);
+
+    // newest first on (created_at, id) for the activity feed; flat rows, no user fetch
+    @Query("""
+            select ui.id as id, ui.user.id as userId, ui.interestType as interestType, ui.title as title,
+                   ui.description as description, ui.rating as rating,
+                   ui.createdAt as createdAt, ui.updatedAt as updatedAt
+            from UserInterest ui
+            where ui.interestType = :interestType
+            order by ui.createdAt desc, ui.id desc
+            """)
+    List<UserInterestSummary> findFeedByInterestType(InterestType interestType, Limit limit);
+
+    @Query("""
+            select ui.id as id, ui.user.id as userId, ui.interestType as interestType, ui.title as title,
+                   ui.description as description, ui.rating as rating,
+                   ui.createdAt as createdAt, ui.updatedAt as updatedAt
+            from UserInterest ui
+            where ui.interestType = :interestType
+              and (ui.createdAt < :createdAt or (ui.createdAt = :createdAt and ui.id < :id))
+            order by ui.createdAt desc, ui.id desc
+            """)
+    List<UserInterestSummary> findFeedByInterestTypeBefore(InterestType interestType, Instant createdAt, Long id, Limit limit);
+
+    // aggregates for reconciling InterestStats: one row per (user, type) and per (type, rating value)
+    @Query("""
+            select ui.user.id as userId, ui.interestType as interestType, count(ui) as posts
+            from UserInterest ui
+            group by ui.user.id, ui.interestType
+            """)
+    List<UserTypeCount> countPostsByUserAndType();
+
+    @Query("""
+            select ui.interestType as interestType, ui.rating as rating, count(ui) as posts
+            from UserInterest ui
+            where ui.rating is not null
+            group by ui.interestType, ui.rating
+            """)
+    List<RatingCount> countPostsByTypeAndRating();
+
+    default void forEachSummaryPage(int pageSize, Consumer<List<UserInterestSummary>> consumer) {
+        forEachPage(this::findSummariesAfter, pageSize, consumer);
+    }
+
+    // same as forEachSummaryPage, limited to rows created at or after since
+    default void forEachSummaryPageSince(Instant since, int pageSize, Consumer<List<UserInterestSummary>> consumer) {
+        forEachPage((afterId, limit) -> findSummariesCreatedSinceAfter(since, afterId, limit), pageSize, consumer);
+    }
+
+    // keyset paging on id: each page is the rows after the last id of the one before
+    private static void forEachPage(BiFunction<Long, Limit, List<UserInterestSummary>> query, int pageSize,
+                                    Consumer<List<UserInterestSummary>> consumer) {
+        long afterId = Long.MIN_VALUE;
+        List<UserInterestSummary> page;
+        do {
+            page = query.apply(afterId, Limit.of(pageSize));
+            if (page.isEmpty()) break;
+            consumer.accept(page);
+            afterId = page.get(page.size() - 1).getId();
+        } while (page.size() == pageSize);
+    }
 }
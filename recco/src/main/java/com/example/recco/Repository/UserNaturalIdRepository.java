@@ -0,0 +1,15 @@
+package com.example.recco.Repository;
+
+import com.example.recco.Model.User;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Lookups by User's natural id (email). Unlike a derived query, these go through the
+ * natural-id and entity caches, so a warm lookup runs no SQL.
+ */
+public interface UserNaturalIdRepository {
+    @Transactional(readOnly = true)
+    Optional<User> findByEmail(String email);
+}
@@ -1,14 +1,35 @@
 package com.example.recco.Repository;
 
+import com.example.recco.Model.DTO.UserSummaryDto;
 import com.example.recco.Model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+// findByEmail comes from UserNaturalIdRepository
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdRepository {
     Optional<User> findByName(String name);
-    Optional<User> findByEmail(String email); // Add this
+
+    // keyset pagination on id: ids first, then the users with dashboardInterests in one statement
+    @Query("select u.id from User u order by u.id asc")
+    List<UUID> findIds(Limit limit);
+
+    @Query("select u.id from User u where u.id > :id order by u.id asc")
+    List<UUID> findIdsAfter(UUID id, Limit limit);
+
+    @EntityGraph(attributePaths = "dashboardInterests")
+    @Query("select u from User u where u.id in :ids order by u.id asc")
+    List<User> findAllWithInterestsByIdIn(Collection<UUID> ids);
+
+    // side-loaded owners of a post listing
+    @Query("select new com.example.recco.Model.DTO.UserSummaryDto(u.id, u.name, u.surname) from User u where u.id in :ids")
+    List<UserSummaryDto> findSummariesByIdIn(Collection<UUID> ids);
 }
@@ -1,14 +1,26 @@
 package com.example.recco.Service;
 
+import com.example.recco.Component.InterestStats;
 import com.example.recco.Component.InterestTypeMapper;
+import com.example.recco.Component.RecentActivity;
+import com.example.recco.Model.DTO.CursorPage;
+import com.example.recco.Model.DTO.PostDto;
+import com.example.recco.Model.DTO.InterestCatalogDto;
 import com.example.recco.Model.DTO.InterestTypeDto;
+import com.example.recco.Model.DTO.JsonBody;
 import com.example.recco.Model.InterestType;
 import com.example.recco.Model.UserInterest;
 import com.example.recco.Repository.UserInterestRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -16,9 +28,21 @@ public class InterestService {
 
     private final InterestTypeMapper mapper;
     private final UserInterestRepository userInterestRepository;
-    public InterestService(InterestTypeMapper mapper, UserInterestRepository userInterestRepository) {
+    private final InterestStats interestStats;
+    private final RecentActivity recentActivity;
+    private final ObjectMapper objectMapper;
+    // serialized catalog and the InterestStats version it was built from
+    private volatile CatalogBody catalogBody;
+
+    private record CatalogBody(long statsVersion, JsonBody body) {}
+
+    public InterestService(InterestTypeMapper mapper, UserInterestRepository userInterestRepository,
+                           InterestStats interestStats, RecentActivity recentActivity, ObjectMapper objectMapper) {
         this.mapper = mapper;
         this.userInterestRepository = userInterestRepository;
+        this.interestStats = interestStats;
+        this.recentActivity = recentActivity;
+        this.objectMapper = objectMapper;
     }
 
     public List<InterestTypeDto> getAllAvailable() {
@@ -27,6 +51,50 @@ public class InterestService {
                 .toList();
     }
 
+    // static metadata plus the live counters; no query per request
+    public List<InterestCatalogDto> getCatalog() {
+        return Arrays.stream(InterestType.values())
+                .map(type -> InterestCatalogDto.of(mapper.toDto(type), interestStats.get(type)))
+                .toList();
+    }
+
+    /**
+     * The catalog pre-serialized. Type metadata never changes at runtime, so the body is only
+     * rebuilt when the stats have moved since; everything else is a shared byte[] and ETag.
+     */
+    public JsonBody getCatalogBody() {
+        long version = interestStats.version();
+        CatalogBody cached = catalogBody;
+        if (cached != null && cached.statsVersion() == version) return cached.body();
+        JsonBody body = JsonBody.of(objectMapper, getCatalog(), Instant.now());
+        catalogBody = new CatalogBody(version, body);
+        return body;
+    }
+
+    /**
+     * Keyset page of a type's posts, newest first on (createdAt, id). Pages inside the
+     * RecentActivity ring (normally the first few) are answered without a query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PostDto> getFeed(InterestType interestType, String cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        Map.Entry<Instant, Long> before = cursor == null ? null : CursorPage.decodeCursor(cursor, 2,
+                keys -> Map.entry(Instant.parse(keys[0]), Long.valueOf(keys[1])));
+        Instant createdAt = before == null ? null : before.getKey();
+        Long id = before == null ? null : before.getValue();
 
+        Optional<CursorPage<PostDto>> hot = recentActivity.page(interestType, createdAt, id, size);
+        if (hot.isPresent()) return hot.get();
+
+        List<PostDto> rows = (before == null
+                ? userInterestRepository.findFeedByInterestType(interestType, Limit.of(size + 1))
+                : userInterestRepository.findFeedByInterestTypeBefore(interestType, createdAt, id, Limit.of(size + 1)))
+                .stream().map(PostDto::of).toList();
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        PostDto last = rows.get(size - 1);
+        return new CursorPage<>(rows.subList(0, size), CursorPage.encodeCursor(last.createdAt(), last.id()));
+    }
 
 }
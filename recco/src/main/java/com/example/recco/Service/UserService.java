@@ -1,22 +1,42 @@
 package com.example.recco.Service;
 
+import com.example.recco.Auth.PasswordHasher;
+import com.example.recco.Auth.PrincipalCache;
+import com.example.recco.Component.DashboardCache;
 import com.example.recco.Component.InterestTypeMapper;
+import com.example.recco.Model.DTO.CursorPage;
+import com.example.recco.Model.DTO.ImportResultDto;
 import com.example.recco.Model.DTO.InterestTypeDto;
+import com.example.recco.Model.DTO.JsonBody;
+import com.example.recco.Model.DTO.PostDto;
+import com.example.recco.Model.DTO.UserInterestSummary;
+import com.example.recco.Model.DTO.UserSummaryDto;
+import com.example.recco.Model.Event.UserInterestEvent;
 import com.example.recco.Model.InterestType;
 import com.example.recco.Model.User;
 import com.example.recco.Model.UserInterest;
 import com.example.recco.Repository.UserInterestRepository;
 import com.example.recco.Repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
 
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -24,79 +44,180 @@ public class UserService implements UserDetailsService {
     private final InterestTypeMapper interestTypeMapper;
     @Autowired private UserRepository userRepository;
     @Autowired private UserInterestRepository userInterestRepository;
-    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private PasswordHasher passwordHasher;
+    @Autowired @Qualifier("applicationTaskExecutor") private Executor taskExecutor;
+    @Autowired private PrincipalCache principalCache;
+    @Autowired private DashboardCache dashboardCache;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    static final int MAX_IMPORT_SIZE = 1000;
 
     private final InterestTypeMapper mapper;
+    // the dashboard only holds global interest types, so it is built once and shared
+    private final List<InterestTypeDto> dashboard;
+    private final Instant dashboardBuiltAt = Instant.now();
+    private volatile JsonBody dashboardBody;
     public UserService(InterestTypeMapper interestTypeMapper, InterestTypeMapper mapper) {
         this.interestTypeMapper = interestTypeMapper;
         this.mapper = mapper;
+        this.dashboard = buildDashboard();
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // findByEmail is read-only, so it may hit a replica that hasn't seen a just-registered user yet;
+        // a miss is retried on the primary inside a read-write transaction
         User user = userRepository.findByEmail(email)
+                .or(() -> transactionTemplate.execute(status -> userRepository.findByEmail(email)))
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
 
         return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), new ArrayList<>());
     }
 
-    public User registerUser(User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+    // bcrypt runs on the PasswordHasher pool; the insert continues on the application task executor
+    public CompletableFuture<User> registerUser(User user) {
+        return passwordHasher.encode(user.getPassword())
+                .thenApplyAsync(encoded -> {
+                    user.setPassword(encoded);
+                    User saved = userRepository.save(user);
+                    principalCache.evict(saved.getEmail());
+                    return saved;
+                }, taskExecutor);
     }
 
+    @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email).orElse(null);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getUsers() { return userRepository.findAll(); }
+
+    /**
+     * Keyset page of users ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<User> getUsersPage(String cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        // fetch one extra row to know whether there is a next page
+        List<UUID> ids = cursor == null
+                ? userRepository.findIds(Limit.of(size + 1))
+                : userRepository.findIdsAfter(
+                        CursorPage.decodeCursor(cursor, 1, keys -> UUID.fromString(keys[0])), Limit.of(size + 1));
+
+        boolean hasNext = ids.size() > size;
+        List<User> items = ids.isEmpty()
+                ? List.of()
+                : userRepository.findAllWithInterestsByIdIn(hasNext ? ids.subList(0, size) : ids);
+        return new CursorPage<>(items, hasNext ? CursorPage.encodeCursor(items.get(size - 1).getId()) : null);
+    }
+
+    /**
+     * Walks all users page by page so callers can stream them without holding the whole table.
+     */
+    public void forEachUserPage(Consumer<List<User>> consumer) {
+        String cursor = null;
+        do {
+            CursorPage<User> page = getUsersPage(cursor, CursorPage.MAX_LIMIT);
+            consumer.accept(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+    }
+
+    @Transactional(readOnly = true)
     public User getUserById(UUID id) {
         return userRepository.findById(id).orElse(null);
     }
 
-    public List<UserInterest> getUserInterestsById(UUID userId) {
-        return userInterestRepository.findByUserId(userId);
+    @Transactional(readOnly = true)
+    public List<PostDto> getUserInterestsById(UUID userId) {
+        return userInterestRepository.findSummariesByUserId(userId).stream().map(PostDto::of).toList();
     }
 
     /**
-     * Return all UserInterest rows for a given InterestType (across all users).
+     * Keyset page of a type's posts ordered by (createdAt, id).
      */
-    public List<UserInterest> getUserInterestsByType(InterestType interestType) {
-        return userInterestRepository.findByInterestType(interestType);
+    @Transactional(readOnly = true)
+    public CursorPage<PostDto> getUserInterestsByTypePage(InterestType interestType, String cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        List<UserInterestSummary> rows;
+        if (cursor == null) {
+            rows = userInterestRepository.findSummariesByInterestType(interestType, Limit.of(size + 1));
+        } else {
+            Map.Entry<Instant, Long> after = CursorPage.decodeCursor(cursor, 2,
+                    keys -> Map.entry(Instant.parse(keys[0]), Long.valueOf(keys[1])));
+            rows = userInterestRepository.findSummariesByInterestTypeAfter(
+                    interestType, after.getKey(), after.getValue(), Limit.of(size + 1));
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<PostDto> items = (hasNext ? rows.subList(0, size) : rows).stream().map(PostDto::of).toList();
+        if (!hasNext) {
+            return new CursorPage<>(items, null);
+        }
+        PostDto last = items.get(items.size() - 1);
+        return new CursorPage<>(items, CursorPage.encodeCursor(last.createdAt(), last.id()));
+    }
+
+    public void forEachUserInterestPage(InterestType interestType, Consumer<List<PostDto>> consumer) {
+        String cursor = null;
+        do {
+            CursorPage<PostDto> page = getUserInterestsByTypePage(interestType, cursor, CursorPage.MAX_LIMIT);
+            consumer.accept(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
     }
 
     /**
      * Return only the specified user's interests for a given type.
      */
-    public List<UserInterest> getUserInterestsByTypeAndUser(InterestType interestType, UUID userId) {
-        return userInterestRepository.findByInterestTypeAndUserId(interestType, userId);
+    @Transactional(readOnly = true)
+    public List<PostDto> getUserInterestsByTypeAndUser(InterestType interestType, UUID userId) {
+        return userInterestRepository.findSummariesByInterestTypeAndUserId(interestType, userId).stream()
+                .map(PostDto::of)
+                .toList();
     }
 
+    /**
+     * The owners of the given posts, once each, for side-loading next to a page of PostDtos.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, UserSummaryDto> usersOf(Collection<PostDto> posts) {
+        Set<UUID> ids = new HashSet<>();
+        for (PostDto post : posts) {
+            if (post.userId() != null) ids.add(post.userId());
+        }
+        if (ids.isEmpty()) return Map.of();
+        Map<UUID, UserSummaryDto> users = new LinkedHashMap<>();
+        for (UserSummaryDto user : userRepository.findSummariesByIdIn(ids)) {
+            users.put(user.id(), user);
+        }
+        return users;
+    }
+
+    @Transactional(readOnly = true)
     public User getUserByName(String name) { return userRepository.findByName(name).orElse(null); }
 
 
     //get dashboard values
     public List<InterestTypeDto> getDashboard(UUID userId) {
+        // The dashboard only exposes the global interest types, so the user's rows are not loaded at all
+        return dashboard;
+    }
 
-        // 1. Load user interests from DB
-        List<UserInterest> userInterests =
-                userInterestRepository.findByUserId(userId);
-
-        // 2. Map by InterestType
-        Map<InterestType, UserInterest> userInterestMap =
-                userInterestRepository.findByUserId(userId)
-                        .stream()
-                        .collect(Collectors.toMap(
-                                UserInterest::getInterestType,
-                                ui -> ui,
-                                (oldValue, newValue) ->
-                                        newValue.getCreatedAt().isAfter(oldValue.getCreatedAt())
-                                                ? newValue
-                                                : oldValue
-                        ));
-
-
-        // 3. Build dashboard response
+    // the same bytes and ETag for every user, serialized on first use
+    public JsonBody getDashboardBody() {
+        JsonBody body = dashboardBody;
+        if (body == null) {
+            dashboardBody = body = JsonBody.of(objectMapper, dashboard, dashboardBuiltAt);
+        }
+        return body;
+    }
+
+    List<InterestTypeDto> buildDashboard() {
+        // Build dashboard response
         List<InterestTypeDto> result = new ArrayList<>();
 
         for (InterestType type : InterestType.values()) {
@@ -110,7 +231,7 @@ public class UserService implements UserDetailsService {
             ));
         }
 
-        return result;
+        return List.copyOf(result);
     }
 
 
@@ -131,51 +252,108 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found: " + email));
 
+        InterestType interestType = parseInterestType(interestTypeDto);
+
+        // Create and save UserInterest
+        UserInterest userInterest = newUserInterest(user, interestType, interestTypeDto);
+
+        UserInterest saved = userInterestRepository.save(userInterest);
+        dashboardCache.interestAdded(user.getId(), interestType);
+        eventPublisher.publishEvent(UserInterestEvent.of(UserInterestEvent.Kind.CREATED, saved));
+
+        // Return all unique interest types from user's interests
+        Set<InterestType> uniqueInterestTypes =
+                dashboardCache.interestTypes(user.getId(), userInterestRepository::findInterestTypesByUserId);
+
+        return uniqueInterestTypes.stream()
+                .map(interestTypeMapper::toDto)
+                .toList();
+
+
+    }
+
+
+
+
+    /**
+     * Bulk import for onboarding. Every entry is validated first, then the valid ones are inserted
+     * in one transaction as JDBC batches. Returns one result per entry, in request order.
+     */
+    public List<ImportResultDto> importInterests(List<InterestTypeDto> interestTypeDtos) {
+        if (interestTypeDtos == null || interestTypeDtos.isEmpty()) {
+            return List.of();
+        }
+        if (interestTypeDtos.size() > MAX_IMPORT_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_IMPORT_SIZE + " interests can be imported per request");
+        }
+
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found: " + email));
+
+        ImportResultDto[] results = new ImportResultDto[interestTypeDtos.size()];
+        List<UserInterest> toInsert = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < interestTypeDtos.size(); i++) {
+            InterestTypeDto dto = interestTypeDtos.get(i);
+            try {
+                toInsert.add(newUserInterest(user, parseInterestType(dto), dto));
+                positions.add(i);
+            } catch (RuntimeException e) {
+                results[i] = ImportResultDto.rejected(i, e.getMessage());
+            }
+        }
+
+        List<UserInterest> saved = toInsert.isEmpty()
+                ? List.of()
+                : transactionTemplate.execute(status -> userInterestRepository.saveAll(toInsert));
+
+        for (int j = 0; j < saved.size(); j++) {
+            results[positions.get(j)] = ImportResultDto.created(positions.get(j), saved.get(j).getId());
+        }
+
+        // after commit, like the single-row path
+        if (!saved.isEmpty()) {
+            dashboardCache.evict(user.getId());
+            saved.forEach(ui -> eventPublisher.publishEvent(UserInterestEvent.of(UserInterestEvent.Kind.CREATED, ui)));
+        }
+        return Arrays.asList(results);
+    }
+
+    private InterestType parseInterestType(InterestTypeDto interestTypeDto) {
         // Validate DTO code is not null
         if (interestTypeDto == null || interestTypeDto.code() == null || interestTypeDto.code().isEmpty()) {
             throw new RuntimeException("Interest type code is required and cannot be null or empty");
         }
 
         // Parse InterestType from DTO code
-        InterestType interestType;
         try {
-            interestType = InterestType.valueOf(interestTypeDto.code());
+            return InterestType.valueOf(interestTypeDto.code());
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid interest type: " + interestTypeDto.code() + ". Valid values are: BOOKS, TV_SHOWS, PODCASTS, GAMES");
         }
+    }
 
-        // Create and save UserInterest
+    private UserInterest newUserInterest(User user, InterestType interestType, InterestTypeDto interestTypeDto) {
         UserInterest userInterest = new UserInterest();
         userInterest.setUser(user);
         userInterest.setInterestType(interestType);
         userInterest.setTitle(interestTypeDto.label());
         userInterest.setDescription(interestTypeDto.description());
-
-        userInterestRepository.save(userInterest);
-
-        // Return all unique interest types from user's interests
-        List<UserInterest> userInterests = userInterestRepository.findByUserId(user.getId());
-        Set<InterestType> uniqueInterestTypes = userInterests.stream()
-                .map(UserInterest::getInterestType)
-                .collect(Collectors.toSet());
-
-        return uniqueInterestTypes.stream()
-                .map(interestTypeMapper::toDto)
-                .toList();
-
-
+        return userInterest;
     }
 
-
-
-
     //update service
-    public  Optional<UserInterest> updateUserInterestDescription(Long interestId, String description) {
+    // descriptions are not part of the dashboard read model, so DashboardCache stays valid here
+    public  Optional<PostDto> updateUserInterestDescription(Long interestId, String description) {
 
         return userInterestRepository.findById(interestId)
                 .map(ui -> {
                     ui.setDescription(description);
-                    return userInterestRepository.save(ui);
+                    UserInterest saved = userInterestRepository.save(ui);
+                    eventPublisher.publishEvent(UserInterestEvent.of(UserInterestEvent.Kind.UPDATED, saved));
+                    return PostDto.of(saved);
                 });
     }
 
@@ -193,6 +371,8 @@ public class UserService implements UserDetailsService {
         if (current == null || !ui.getUser().getId().equals(current.getId())) return false;
 
         userInterestRepository.delete(ui);
+        dashboardCache.evict(current.getId());
+        eventPublisher.publishEvent(UserInterestEvent.of(UserInterestEvent.Kind.DELETED, ui));
         return true;
 
     }
@@ -0,0 +1,46 @@
+package com.example.recco.Auth;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH: token generation and validation, with and without the verified-token cache.
+ * Run with mvn -Pjmh verify -Djmh.include=JwtUtils
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    // 0 disables the cache, so every validation parses and checks the signature
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(verifiedCacheSize);
+        token = jwtUtils.generateToken("bench@recco.dev");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateToken("bench@recco.dev");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String usernameFromToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+}
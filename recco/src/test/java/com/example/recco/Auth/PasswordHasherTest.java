@@ -0,0 +1,42 @@
+package com.example.recco.Auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * What a login burst does to other requests is measured end to end by the "login burst" phase of
+ * LoadTest (mvn test -Ploadtest), once with the pool and once with -Drecco.auth.hashing.offload=false.
+ */
+class PasswordHasherTest {
+
+    private final PasswordEncoder encoder = new BCryptPasswordEncoder(6);
+    private final String hash = encoder.encode("secret");
+
+    @Test
+    void saturatedPoolRejectsFast() {
+        PasswordHasher hasher = new PasswordHasher(encoder, new SimpleMeterRegistry(), 1, 2, true);
+        int rejected = 0;
+        for (int i = 0; i < 50; i++) {
+            try {
+                hasher.matches("secret", hash);
+            } catch (HashingPoolSaturatedException e) {
+                rejected++;
+            }
+        }
+        hasher.shutdown();
+        assertTrue(rejected > 0, "a full queue should reject instead of growing");
+    }
+
+    @Test
+    void hashesOnTheCallingThreadWhenNotOffloaded() {
+        PasswordHasher hasher = new PasswordHasher(encoder, new SimpleMeterRegistry(), 1, 2, false);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(hasher.matches("secret", hash).isDone(), "nothing should be queued");
+        }
+        hasher.shutdown();
+    }
+}
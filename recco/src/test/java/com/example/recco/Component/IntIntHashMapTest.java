@@ -0,0 +1,65 @@
+package com.example.recco.Component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IntIntHashMapTest {
+
+    @Test
+    void removingMidChainKeepsTheRestReachable() {
+        IntIntHashMap map = new IntIntHashMap();
+        // three keys with the same home slot in the initial 16-slot table
+        List<Integer> colliding = new ArrayList<>();
+        int home = IntIntHashMap.mix(0) & 15;
+        for (int key = 0; colliding.size() < 3; key++) {
+            if ((IntIntHashMap.mix(key) & 15) == home) colliding.add(key);
+        }
+        for (int i = 0; i < colliding.size(); i++) map.addTo(colliding.get(i), i + 1);
+
+        assertEquals(0, map.addTo(colliding.get(1), -2));
+        assertEquals(2, map.size());
+        assertEquals(1, map.get(colliding.get(0)));
+        assertEquals(0, map.get(colliding.get(1)));
+        assertEquals(3, map.get(colliding.get(2)));
+
+        assertEquals(0, map.addTo(colliding.get(0), -1));
+        assertEquals(3, map.get(colliding.get(2)));
+    }
+
+    @Test
+    void growsWithoutLosingCounts() {
+        IntIntHashMap map = new IntIntHashMap(2);
+        for (int key = 0; key < 10_000; key++) map.addTo(key * 7, key + 1);
+
+        assertEquals(10_000, map.size());
+        for (int key = 0; key < 10_000; key++) assertEquals(key + 1, map.get(key * 7));
+        assertEquals(0, map.get(3));
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomAddsAndRemoves() {
+        Random random = new Random(7);
+        IntIntHashMap map = new IntIntHashMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // a small key space and +-1 deltas, so entries keep hitting zero in the middle of chains
+            int key = random.nextInt(500);
+            int delta = random.nextBoolean() ? 1 : -1;
+            int updated = expected.merge(key, delta, Integer::sum);
+            if (updated == 0) expected.remove(key);
+            assertEquals(updated, map.addTo(key, delta));
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<Integer, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.InterestStatsDto;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InterestStatsTest {
+
+    private final InterestStats stats = new InterestStats(null, null, Clock.systemUTC());
+    private long nextId = 1;
+
+    @Test
+    void countsPostsAndActiveUsers() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        UserInterestEvent first = created(alice, InterestType.BOOKS, "4");
+        UserInterestEvent second = created(alice, InterestType.BOOKS, "5");
+        created(bob, InterestType.BOOKS, null);
+        created(bob, InterestType.GAMES, "not numeric");
+
+        assertEquals(new InterestStatsDto(3, 2, 4.5), stats.get(InterestType.BOOKS));
+        assertEquals(new InterestStatsDto(1, 1, null), stats.get(InterestType.GAMES));
+
+        // alice stays active until her last BOOKS post is gone
+        stats.onUserInterestEvent(copy(UserInterestEvent.Kind.DELETED, first));
+        assertEquals(new InterestStatsDto(2, 2, 5.0), stats.get(InterestType.BOOKS));
+        stats.onUserInterestEvent(copy(UserInterestEvent.Kind.DELETED, second));
+        assertEquals(new InterestStatsDto(1, 1, null), stats.get(InterestType.BOOKS));
+    }
+
+    @Test
+    void onlyNumericRatingsAreAveraged() {
+        assertEquals(3500, InterestStats.ratingMillis(" 3.5 "));
+        assertEquals(-1, InterestStats.ratingMillis("great"));
+        assertEquals(-1, InterestStats.ratingMillis("NaN"));
+        assertEquals(-1, InterestStats.ratingMillis(null));
+    }
+
+    private UserInterestEvent created(UUID userId, InterestType type, String rating) {
+        UserInterestEvent event = new UserInterestEvent(UserInterestEvent.Kind.CREATED, nextId++, userId, type,
+                "Title", "d", rating, null, null);
+        stats.onUserInterestEvent(event);
+        return event;
+    }
+
+    private static UserInterestEvent copy(UserInterestEvent.Kind kind, UserInterestEvent e) {
+        return new UserInterestEvent(kind, e.id(), e.userId(), e.interestType(), e.title(), e.description(),
+                e.rating(), e.createdAt(), e.updatedAt());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import com.example.recco.ReccoApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts against the local Postgres from application.yaml (DB_USERNAME / DB_PASSWORD):
+ * a change published on one must be evicted on the other. Run with mvn test -Ppostgres.
+ */
+@Tag("postgres")
+class InvalidationBusPostgresTest {
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void start() {
+        first = instance();
+        second = instance();
+    }
+
+    @AfterAll
+    static void stop() {
+        if (first != null) first.close();
+        if (second != null) second.close();
+    }
+
+    @Test
+    void changesOnOneInstanceAreEvictedOnTheOther() throws Exception {
+        // each listener flushes once it connects, which would change the ETag below by itself
+        awaitTrue(() -> first.getBean(InvalidationBus.class).listening() && second.getBean(InvalidationBus.class).listening());
+        UUID userId = UUID.randomUUID();
+        UserVersions versions = second.getBean(UserVersions.class);
+        DashboardCache dashboards = second.getBean(DashboardCache.class);
+        String etag = versions.etag(userId);
+        dashboards.interestTypes(userId, id -> Set.of(InterestType.BOOKS));
+
+        // what UserService publishes after committing a new post
+        first.publishEvent(new UserInterestEvent(UserInterestEvent.Kind.CREATED, 1L, userId, InterestType.GAMES,
+                "Title", "d", null, Instant.now(), Instant.now()));
+
+        awaitTrue(() -> !versions.etag(userId).equals(etag));
+        assertEquals(Set.of(InterestType.GAMES), dashboards.interestTypes(userId, id -> Set.of(InterestType.GAMES)));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(50);
+        }
+    }
+
+    private static ConfigurableApplicationContext instance() {
+        return new SpringApplicationBuilder(ReccoApplication.class)
+                .properties("server.port=0", "recco.invalidation.enabled=true")
+                .run();
+    }
+}
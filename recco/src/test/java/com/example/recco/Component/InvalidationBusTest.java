@@ -0,0 +1,54 @@
+package com.example.recco.Component;
+
+import com.example.recco.Component.InvalidationBus.Invalidation;
+import com.example.recco.Model.InterestType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationBusTest {
+
+    private static final String SENDER = UUID.randomUUID().toString();
+    private static final String RECEIVER = UUID.randomUUID().toString();
+
+    @Test
+    void roundTripsChangesFromOtherInstances() {
+        List<Invalidation> changes = List.of(
+                new Invalidation(UUID.randomUUID(), 42L, InterestType.BOOKS),
+                new Invalidation(UUID.randomUUID(), null, null));
+        List<String> payloads = InvalidationBus.encode(SENDER, changes);
+
+        assertEquals(1, payloads.size());
+        assertEquals(changes, InvalidationBus.decode(RECEIVER, payloads.get(0)));
+        // its own notifications come back to the sender, which skips them
+        assertEquals(List.of(), InvalidationBus.decode(SENDER, payloads.get(0)));
+    }
+
+    @Test
+    void splitsBurstsIntoPayloadsPostgresAccepts() {
+        List<Invalidation> changes = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            changes.add(new Invalidation(UUID.randomUUID(), Long.MAX_VALUE - i, InterestType.PODCASTS));
+        }
+        List<String> payloads = InvalidationBus.encode(SENDER, changes);
+
+        assertTrue(payloads.size() > 1);
+        List<Invalidation> decoded = new ArrayList<>();
+        for (String payload : payloads) {
+            assertTrue(payload.length() <= InvalidationBus.MAX_PAYLOAD);
+            decoded.addAll(InvalidationBus.decode(RECEIVER, payload));
+        }
+        assertEquals(changes, decoded);
+    }
+
+    @Test
+    void skipsMalformedEntries() {
+        UUID user = UUID.randomUUID();
+        assertEquals(List.of(new Invalidation(user, 1L, InterestType.GAMES)),
+                InvalidationBus.decode(RECEIVER, SENDER + "|nope;" + user + ",1,GAMES;x,y,z"));
+    }
+}
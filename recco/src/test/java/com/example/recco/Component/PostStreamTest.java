@@ -0,0 +1,120 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostStreamTest {
+
+    private static final Pattern ID = Pattern.compile("id:(\\d+)");
+
+    private PostStream stream;
+
+    @AfterEach
+    void shutdown() {
+        if (stream != null) stream.shutdown();
+    }
+
+    @Test
+    void resumesAfterLastEventId() throws Exception {
+        stream = new PostStream(8, Duration.ofMinutes(1));
+        CapturingEmitter first = new CapturingEmitter();
+        stream.subscribe(InterestType.BOOKS, null, first);
+        for (long id = 1; id <= 3; id++) publish(UserInterestEvent.Kind.CREATED, id);
+        List<String> seen = first.take(3);
+        assertTrue(seen.get(0).contains("event:created"));
+
+        // reconnect after the first event: the other two are replayed, then live events follow
+        CapturingEmitter resumed = new CapturingEmitter();
+        stream.subscribe(InterestType.BOOKS, id(seen.get(0)), resumed);
+        publish(UserInterestEvent.Kind.DELETED, 2);
+        List<String> replayed = resumed.take(3);
+        assertEquals(List.of(id(seen.get(1)), id(seen.get(2))), List.of(id(replayed.get(0)), id(replayed.get(1))));
+        assertTrue(replayed.get(2).contains("event:deleted"));
+    }
+
+    @Test
+    void unknownLastEventIdAsksForReset() throws Exception {
+        stream = new PostStream(2, Duration.ofMinutes(1));
+        for (long id = 1; id <= 5; id++) publish(UserInterestEvent.Kind.CREATED, id);
+
+        CapturingEmitter emitter = new CapturingEmitter();
+        stream.subscribe(InterestType.BOOKS, Long.MIN_VALUE, emitter);
+        assertTrue(emitter.take(1).get(0).contains("event:" + PostStream.RESET));
+    }
+
+    @Test
+    void slowClientIsDisconnectedWithoutBlockingWriters() throws Exception {
+        stream = new PostStream(2, Duration.ofMinutes(1));
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter slow = new CapturingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws java.io.IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(builder);
+            }
+        };
+        stream.subscribe(InterestType.BOOKS, null, slow);
+        // one event stuck in send, two queued, the next one overflows
+        for (long id = 1; id <= 10; id++) publish(UserInterestEvent.Kind.CREATED, id);
+
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, stream.connections());
+        release.countDown();
+    }
+
+    private void publish(UserInterestEvent.Kind kind, long id) {
+        stream.onUserInterestEvent(new UserInterestEvent(kind, id, UUID.randomUUID(), InterestType.BOOKS,
+                "Title " + id, "d", null, Instant.now(), Instant.now()));
+    }
+
+    private static long id(String event) {
+        Matcher m = ID.matcher(event);
+        assertTrue(m.find(), event);
+        return Long.parseLong(m.group(1));
+    }
+
+    static class CapturingEmitter extends SseEmitter {
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws java.io.IOException {
+            sent.add(builder.build().stream().map(d -> String.valueOf(d.getData())).collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+            super.complete();
+        }
+
+        List<String> take(int n) throws InterruptedException {
+            List<String> events = new ArrayList<>();
+            while (events.size() < n) {
+                String event = sent.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "expected " + n + " events, got " + events);
+                events.add(event);
+            }
+            return events;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RebuildBufferTest {
+
+    private final List<String> applied = new ArrayList<>();
+    private final RebuildBuffer buffer = new RebuildBuffer(event -> applied.add(event.kind() + " " + event.id()));
+
+    @Test
+    void appliesEventsStraightAwayOutsideARebuild() {
+        buffer.offer(event(UserInterestEvent.Kind.CREATED, 1));
+        buffer.offer(event(UserInterestEvent.Kind.DELETED, 1));
+
+        assertEquals(List.of("CREATED 1", "DELETED 1"), applied);
+    }
+
+    @Test
+    void holdsBackEventsUntilTheScanIsDone() {
+        buffer.rebuild(() -> {
+            applied.add("scan 1");
+            buffer.offer(event(UserInterestEvent.Kind.DELETED, 1));
+            buffer.offer(event(UserInterestEvent.Kind.CREATED, 2));
+            applied.add("scan 2");
+        });
+        buffer.offer(event(UserInterestEvent.Kind.UPDATED, 2));
+
+        assertEquals(List.of("scan 1", "scan 2", "DELETED 1", "CREATED 2", "UPDATED 2"), applied);
+    }
+
+    @Test
+    void replaysWhenTheScanFails() {
+        try {
+            buffer.rebuild(() -> {
+                buffer.offer(event(UserInterestEvent.Kind.CREATED, 1));
+                throw new IllegalStateException("connection lost");
+            });
+        } catch (IllegalStateException expected) {
+            // the index keeps the events even if the rows are missing
+        }
+        buffer.offer(event(UserInterestEvent.Kind.CREATED, 2));
+
+        assertEquals(List.of("CREATED 1", "CREATED 2"), applied);
+    }
+
+    private static UserInterestEvent event(UserInterestEvent.Kind kind, long id) {
+        return new UserInterestEvent(kind, id, UUID.randomUUID(), InterestType.BOOKS,
+                "Dune", "d", null, Instant.now(), Instant.now());
+    }
+}
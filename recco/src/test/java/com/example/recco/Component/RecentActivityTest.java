@@ -0,0 +1,116 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.CursorPage;
+import com.example.recco.Model.DTO.PostDto;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentActivityTest {
+
+    private static final Instant T0 = Instant.parse("2025-06-01T12:00:00Z");
+
+    private final RecentActivity feed = new RecentActivity(null, 4);
+
+    @BeforeEach
+    void loadEmpty() {
+        for (InterestType type : List.of(InterestType.BOOKS, InterestType.GAMES)) feed.load(type, List::of);
+    }
+
+    @Test
+    void servesNothingUntilLoaded() {
+        RecentActivity unloaded = new RecentActivity(null, 4);
+        assertTrue(unloaded.page(InterestType.BOOKS, null, null, 4).isEmpty());
+    }
+
+    @Test
+    void keepsEventsThatArriveWhileLoading() {
+        created(1, T0.plusSeconds(1));
+        feed.load(InterestType.GAMES, () -> {
+            // committed after the query read its rows, published before the load finished
+            created(3, T0.plusSeconds(3));
+            publish(UserInterestEvent.Kind.DELETED, 2, T0.plusSeconds(2), "d");
+            return List.of(post(2, T0.plusSeconds(2)), post(1, T0.plusSeconds(1)));
+        });
+
+        assertEquals(List.of(3L, 1L), ids(feed.page(InterestType.GAMES, null, null, 4)));
+    }
+
+    @Test
+    void dropsLatePostsOlderThanAnIncompleteRing() {
+        for (long id = 1; id <= 6; id++) created(id, T0.plusSeconds(id));
+        publish(UserInterestEvent.Kind.DELETED, 5, T0.plusSeconds(5), "d");
+        publish(UserInterestEvent.Kind.DELETED, 4, T0.plusSeconds(4), "d");
+        // belongs after post 2, which the ring evicted: appending it after 3 would hide 2 from the feed
+        created(7, T0.plusSeconds(2).minusMillis(500));
+
+        assertEquals(List.of(6L, 3L), ids(feed.page(InterestType.BOOKS, null, null, 2)));
+        assertTrue(feed.page(InterestType.BOOKS, null, null, 3).isEmpty());
+    }
+
+    @Test
+    void keepsNewestFirstAndDropsTheOldestWhenFull() {
+        for (long id = 1; id <= 6; id++) created(id, T0.plusSeconds(id));
+        // committed late but created earlier than the head: lands in its place, not at the top
+        created(7, T0.plusSeconds(4).plusMillis(500));
+
+        assertEquals(List.of(6L, 5L, 7L, 4L), ids(feed.page(InterestType.BOOKS, null, null, 4)));
+        // the ring no longer covers the whole type, so a page running past its end goes to the database
+        assertTrue(feed.page(InterestType.BOOKS, null, null, 5).isEmpty());
+    }
+
+    @Test
+    void pagesWithinTheRingCarryACursor() {
+        for (long id = 1; id <= 3; id++) created(id, T0.plusSeconds(id));
+
+        CursorPage<PostDto> first = feed.page(InterestType.GAMES, null, null, 2).orElseThrow();
+        assertEquals(List.of(3L, 2L), first.items().stream().map(PostDto::id).toList());
+        assertNotNull(first.nextCursor());
+
+        PostDto last = first.items().get(1);
+        CursorPage<PostDto> second = feed.page(InterestType.GAMES, last.createdAt(), last.id(), 2).orElseThrow();
+        assertEquals(List.of(1L), second.items().stream().map(PostDto::id).toList());
+        assertNull(second.nextCursor(), "the ring holds every post of the type");
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        created(1, T0);
+        created(2, T0);
+        publish(UserInterestEvent.Kind.UPDATED, 1, T0, "edited");
+        publish(UserInterestEvent.Kind.DELETED, 2, T0, "d");
+
+        List<PostDto> items = feed.page(InterestType.GAMES, null, null, 10).orElseThrow().items();
+        assertEquals(1, items.size());
+        assertEquals("edited", items.get(0).description());
+    }
+
+    private void created(long id, Instant createdAt) {
+        publish(UserInterestEvent.Kind.CREATED, id, createdAt, "d");
+        publish(UserInterestEvent.Kind.CREATED, id, createdAt, "d"); // duplicates are ignored
+    }
+
+    private void publish(UserInterestEvent.Kind kind, long id, Instant createdAt, String description) {
+        for (InterestType type : List.of(InterestType.BOOKS, InterestType.GAMES)) {
+            feed.onUserInterestEvent(new UserInterestEvent(kind, id, UUID.randomUUID(), type,
+                    "Title " + id, description, null, createdAt, createdAt));
+        }
+    }
+
+    private static PostDto post(long id, Instant createdAt) {
+        return PostDto.of(new UserInterestEvent(UserInterestEvent.Kind.CREATED, id, UUID.randomUUID(),
+                InterestType.GAMES, "Title " + id, "d", null, createdAt, createdAt));
+    }
+
+    private static List<Long> ids(Optional<CursorPage<PostDto>> page) {
+        return page.orElseThrow().items().stream().map(PostDto::id).toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.RecommendationDto;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecommendationIndexTest {
+
+    private final RecommendationIndex index = new RecommendationIndex(null);
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+
+    @Test
+    void countsUsersWhoAddedBothTitles() {
+        publish(UserInterestEvent.Kind.CREATED, 1, alice, "Dune");
+        publish(UserInterestEvent.Kind.CREATED, 2, alice, "Neuromancer");
+        publish(UserInterestEvent.Kind.CREATED, 3, bob, "dune ");
+        publish(UserInterestEvent.Kind.CREATED, 4, bob, "Neuromancer");
+        publish(UserInterestEvent.Kind.CREATED, 5, bob, "Hyperion");
+        publish(UserInterestEvent.Kind.CREATED, 6, carol, "Hyperion");
+
+        assertEquals(List.of(new RecommendationDto("Neuromancer", 2), new RecommendationDto("Hyperion", 1)),
+                index.similarTitles(InterestType.BOOKS, "DUNE", 10));
+        // carol only has Hyperion: bob's other titles, minus what she already has
+        assertEquals(List.of(new RecommendationDto("Dune", 1), new RecommendationDto("Neuromancer", 1)),
+                index.forUser(InterestType.BOOKS, carol, 10));
+        assertEquals(List.of(), index.similarTitles(InterestType.GAMES, "Dune", 10));
+    }
+
+    @Test
+    void deletesTakeBackTheirCounts() {
+        publish(UserInterestEvent.Kind.CREATED, 1, alice, "Dune");
+        publish(UserInterestEvent.Kind.CREATED, 2, alice, "Neuromancer");
+        publish(UserInterestEvent.Kind.CREATED, 3, bob, "Dune");
+        publish(UserInterestEvent.Kind.CREATED, 4, bob, "Neuromancer");
+        // a second row with a title the user already has adds no co-occurrence
+        publish(UserInterestEvent.Kind.CREATED, 5, bob, "Neuromancer");
+
+        publish(UserInterestEvent.Kind.DELETED, 4, bob, null);
+        assertEquals(List.of(new RecommendationDto("Neuromancer", 2)), index.similarTitles(InterestType.BOOKS, "Dune", 10));
+
+        publish(UserInterestEvent.Kind.DELETED, 5, bob, null);
+        assertEquals(List.of(new RecommendationDto("Neuromancer", 1)), index.similarTitles(InterestType.BOOKS, "Dune", 10));
+
+        publish(UserInterestEvent.Kind.DELETED, 2, alice, null);
+        publish(UserInterestEvent.Kind.DELETED, 2, alice, null); // repeated deletes are ignored
+        assertEquals(List.of(), index.similarTitles(InterestType.BOOKS, "Dune", 10));
+        assertEquals(List.of(), index.forUser(InterestType.BOOKS, bob, 10));
+    }
+
+    private void publish(UserInterestEvent.Kind kind, long id, UUID userId, String title) {
+        index.onUserInterestEvent(new UserInterestEvent(kind, id, userId, InterestType.BOOKS,
+                title, "d", null, Instant.now(), Instant.now()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.SearchHitDto;
+import com.example.recco.Model.Event.UserInterestEvent;
+import com.example.recco.Model.InterestType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexTest {
+
+    private final SearchIndex index = new SearchIndex(null);
+
+    @Test
+    void titleMatchesAndRareTermsRankFirst() {
+        publish(UserInterestEvent.Kind.CREATED, 1, InterestType.BOOKS, "Notes", "a dune reading list");
+        publish(UserInterestEvent.Kind.CREATED, 2, InterestType.BOOKS, "Dune", "desert planet, dune seas");
+        publish(UserInterestEvent.Kind.CREATED, 3, InterestType.BOOKS, "Dune Messiah", "desert planet sequel");
+        publish(UserInterestEvent.Kind.CREATED, 4, InterestType.BOOKS, "Foundation", "a galactic empire");
+
+        // title weighs three times a description hit, and 2 has both
+        assertEquals(List.of(2L, 3L, 1L), ids(index.search("dune", null, 10)));
+        // every token has to match
+        assertEquals(List.of(3L), ids(index.search("dune sequel", null, 10)));
+        assertEquals(List.of(2L), ids(index.search("dune", null, 1)));
+    }
+
+    @Test
+    void onlyTheLastWordMatchesAsAPrefix() {
+        publish(UserInterestEvent.Kind.CREATED, 1, InterestType.BOOKS, "Dune Messiah", "sequel");
+        publish(UserInterestEvent.Kind.CREATED, 2, InterestType.BOOKS, "Dunes of Namibia", "travel");
+
+        assertEquals(Set.of(1L, 2L), Set.copyOf(ids(index.search("dun", null, 10))));
+        assertEquals(List.of(1L), ids(index.search("dune mess", null, 10)));
+        assertEquals(List.of(), ids(index.search("dun messiah", null, 10)));
+    }
+
+    @Test
+    void filtersByInterestType() {
+        publish(UserInterestEvent.Kind.CREATED, 1, InterestType.BOOKS, "Dune", "novel");
+        publish(UserInterestEvent.Kind.CREATED, 2, InterestType.GAMES, "Dune", "film");
+
+        assertEquals(List.of(2L), ids(index.search("dune", InterestType.GAMES, 10)));
+        assertEquals(2, index.search("dune", null, 10).size());
+    }
+
+    @Test
+    void updatesAndDeletesLeaveTheIndex() {
+        publish(UserInterestEvent.Kind.CREATED, 1, InterestType.BOOKS, "Dune", "desert planet");
+        publish(UserInterestEvent.Kind.UPDATED, 1, InterestType.BOOKS, "Dune", "spice");
+
+        assertEquals(List.of(), ids(index.search("desert", null, 10)));
+        assertEquals(List.of(1L), ids(index.search("spice", null, 10)));
+
+        publish(UserInterestEvent.Kind.DELETED, 1, InterestType.BOOKS, "Dune", "spice");
+        assertEquals(List.of(), ids(index.search("dune", null, 10)));
+        assertEquals(List.of(), ids(index.search("sp", null, 10)));
+    }
+
+    @Test
+    void shortPrefixesKeepTheMostCommonCompletions() {
+        // more one-off completions than are expanded, all sorting before the common one
+        for (int i = 0; i < 100; i++) {
+            publish(UserInterestEvent.Kind.CREATED, i, InterestType.BOOKS, String.format("ab%03d", i), "x");
+        }
+        for (int i = 100; i < 105; i++) {
+            publish(UserInterestEvent.Kind.CREATED, i, InterestType.BOOKS, "Azure", "x");
+        }
+
+        List<Long> hits = ids(index.search("a", null, 200));
+        for (long id = 100; id < 105; id++) assertTrue(hits.contains(id), "missing " + id);
+    }
+
+    private void publish(UserInterestEvent.Kind kind, long id, InterestType type, String title, String description) {
+        index.onUserInterestEvent(new UserInterestEvent(kind, id, UUID.randomUUID(), type,
+                title, description, null, Instant.now(), Instant.now()));
+    }
+
+    private static List<Long> ids(List<SearchHitDto> hits) {
+        return hits.stream().map(SearchHitDto::id).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.SimilarUserDto;
+import com.example.recco.Model.InterestType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recall vs latency of the MinHash/LSH index against exact Jaccard on synthetic users.
+ * Users are drawn from overlapping taste clusters so that real neighbours exist.
+ * Tagged "benchmark": run with mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+class SimilarUsersIndexBenchmarkTest {
+
+    private static final int USERS = 5_000;
+    private static final int CLUSTERS = 250;
+    private static final int CLUSTER_TITLES = 40;
+    private static final int TITLES_PER_USER = 20;
+    private static final int K = 10;
+    private static final int QUERIES = 200;
+    // only neighbours at least this similar count towards recall
+    private static final double MIN_JACCARD = 0.3;
+
+    @Test
+    void recallAndLatencyAgainstExactJaccard() {
+        Random random = new Random(42);
+        SimilarUsersIndex index = new SimilarUsersIndex(null);
+        Map<UUID, Set<String>> sets = new HashMap<>();
+        List<UUID> users = new ArrayList<>();
+        long id = 1;
+
+        long buildStart = System.nanoTime();
+        for (int u = 0; u < USERS; u++) {
+            UUID user = new UUID(0, u);
+            int cluster = random.nextInt(CLUSTERS);
+            Set<String> titles = new HashSet<>();
+            while (titles.size() < TITLES_PER_USER) {
+                // mostly from the user's cluster, some noise from the long tail
+                titles.add(random.nextDouble() < 0.85
+                        ? "c" + cluster + "-t" + random.nextInt(CLUSTER_TITLES)
+                        : "tail-" + random.nextInt(100_000));
+            }
+            for (String title : titles) {
+                index.add(id++, user, InterestType.BOOKS, title);
+            }
+            sets.put(user, titles);
+            users.add(user);
+        }
+        long buildNanos = System.nanoTime() - buildStart;
+
+        Collections.shuffle(users, random);
+        List<UUID> queries = users.subList(0, QUERIES);
+
+        long approxNanos = 0;
+        long exactNanos = 0;
+        int relevant = 0;
+        int found = 0;
+        for (UUID query : queries) {
+            long t0 = System.nanoTime();
+            List<SimilarUserDto> approx = index.similarTo(query, K);
+            long t1 = System.nanoTime();
+            List<UUID> exact = exactTopK(query, sets);
+            long t2 = System.nanoTime();
+            approxNanos += t1 - t0;
+            exactNanos += t2 - t1;
+
+            Set<UUID> approxIds = approx.stream().map(SimilarUserDto::userId).collect(Collectors.toSet());
+            for (UUID neighbour : exact) {
+                relevant++;
+                if (approxIds.contains(neighbour)) found++;
+            }
+        }
+
+        double recall = relevant == 0 ? 1.0 : (double) found / relevant;
+        System.out.printf(Locale.ROOT,
+                "similar-users: users=%d build=%.1fms recall@%d(J>=%.1f)=%.3f lsh=%.3fms/query exact=%.3fms/query%n",
+                USERS, buildNanos / 1e6, K, MIN_JACCARD, recall,
+                approxNanos / 1e6 / QUERIES, exactNanos / 1e6 / QUERIES);
+
+        assertTrue(relevant > 0, "synthetic data should contain real neighbours");
+        assertTrue(recall >= 0.8, "LSH recall too low: " + recall);
+    }
+
+    private static List<UUID> exactTopK(UUID query, Map<UUID, Set<String>> sets) {
+        Set<String> mine = sets.get(query);
+        List<Map.Entry<UUID, Double>> scored = new ArrayList<>();
+        for (Map.Entry<UUID, Set<String>> other : sets.entrySet()) {
+            if (other.getKey().equals(query)) continue;
+            double jaccard = jaccard(mine, other.getValue());
+            if (jaccard >= MIN_JACCARD) scored.add(Map.entry(other.getKey(), jaccard));
+        }
+        scored.sort(Map.Entry.<UUID, Double>comparingByValue().reversed());
+        return scored.stream().limit(K).map(Map.Entry::getKey).toList();
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        int intersection = 0;
+        for (String s : a) {
+            if (b.contains(s)) intersection++;
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+}
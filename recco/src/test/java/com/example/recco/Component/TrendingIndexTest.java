@@ -0,0 +1,103 @@
+package com.example.recco.Component;
+
+import com.example.recco.Model.DTO.TrendingTitleDto;
+import com.example.recco.Model.InterestType;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrendingIndexTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-01T12:00:00Z"));
+    private final TrendingIndex index = new TrendingIndex(null, clock);
+
+    @Test
+    void heavyHittersSurviveLongTail() {
+        // 20k one-off titles around ten titles added 200, 190, ... 110 times
+        for (int i = 0; i < 20_000; i++) {
+            index.add(InterestType.BOOKS, "Long tail " + i, clock.instant());
+            if (i % 10 == 0) {
+                int hitter = (i / 10) % 10;
+                int repeats = (20 - hitter) * 10;
+                if (i / 100 < repeats) index.add(InterestType.BOOKS, "Hit " + hitter, clock.instant());
+            }
+        }
+        List<TrendingTitleDto> top = index.top(InterestType.BOOKS, TrendingIndex.Window.DAY, 10);
+        assertEquals(10, top.size());
+        for (int rank = 0; rank < 10; rank++) {
+            assertEquals("Hit " + rank, top.get(rank).title());
+            assertTrue(top.get(rank).count() >= (20 - rank) * 10, "count-min never undercounts");
+        }
+    }
+
+    @Test
+    void windowsForgetOldAdds() {
+        index.add(InterestType.GAMES, "Old favourite", clock.instant());
+        index.add(InterestType.GAMES, "Old favourite", clock.instant());
+        clock.advance(Duration.ofHours(2));
+        index.add(InterestType.GAMES, "New thing", clock.instant());
+
+        assertEquals(List.of(new TrendingTitleDto("New thing", 1)),
+                index.top(InterestType.GAMES, TrendingIndex.Window.HOUR, 10));
+        assertEquals(List.of(new TrendingTitleDto("Old favourite", 2), new TrendingTitleDto("New thing", 1)),
+                index.top(InterestType.GAMES, TrendingIndex.Window.DAY, 10));
+
+        clock.advance(Duration.ofDays(8));
+        assertTrue(index.top(InterestType.GAMES, TrendingIndex.Window.WEEK, 10).isEmpty());
+    }
+
+    @Test
+    void expiredCandidatesMakeRoomForNewTitles() {
+        // fill every candidate slot, twice each, then let the hour window move past them
+        for (int i = 0; i < TrendingIndex.CANDIDATES; i++) {
+            index.add(InterestType.TV_SHOWS, "Old " + i, clock.instant());
+            index.add(InterestType.TV_SHOWS, "Old " + i, clock.instant());
+        }
+        clock.advance(Duration.ofHours(2));
+        index.add(InterestType.TV_SHOWS, "Fresh", clock.instant());
+
+        assertEquals(List.of(new TrendingTitleDto("Fresh", 1)),
+                index.top(InterestType.TV_SHOWS, TrendingIndex.Window.HOUR, 10));
+    }
+
+    @Test
+    void rebuiltRowsCountByCreatedAt() {
+        index.add(InterestType.PODCASTS, "Three days ago", clock.instant().minus(Duration.ofDays(3)));
+        index.add(InterestType.PODCASTS, "Last month", clock.instant().minus(Duration.ofDays(30)));
+
+        assertTrue(index.top(InterestType.PODCASTS, TrendingIndex.Window.DAY, 10).isEmpty());
+        assertEquals(List.of(new TrendingTitleDto("Three days ago", 1)),
+                index.top(InterestType.PODCASTS, TrendingIndex.Window.WEEK, 10));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
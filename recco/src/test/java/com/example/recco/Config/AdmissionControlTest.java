@@ -0,0 +1,141 @@
+package com.example.recco.Config;
+
+import com.example.recco.Auth.JwtUtils;
+import com.example.recco.Config.AdmissionControlFilter.ClientLimits;
+import com.example.recco.Config.AdmissionControlFilter.EndpointClass;
+import com.example.recco.Config.AdmissionControlFilter.Limits;
+import com.example.recco.Model.User;
+import com.example.recco.Repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "recco.admission.enabled=true",
+        "recco.admission.auth.rate=0.5",
+        "recco.admission.auth.burst=2",
+        "recco.admission.per-user.rate=0.5",
+        "recco.admission.per-user.burst=2",
+        "recco.admission.per-ip.rate=1000"})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AdmissionControlTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtUtils jwtUtils;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void loginsOverTheAuthRateGet429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            int status = login().andReturn().getResponse().getStatus();
+            assertNotEquals(429, status);
+        }
+        login().andExpect(status().isTooManyRequests()).andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+
+        Counter rejected = meterRegistry.find("recco.admission.rejected").tags("class", "auth", "reason", "rate").counter();
+        assertNotNull(rejected);
+        assertEquals(1, rejected.count());
+    }
+
+    @Test
+    void eachUserHasItsOwnBucket() throws Exception {
+        String busy = token();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/interests").header(HttpHeaders.AUTHORIZATION, busy)).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/interests").header(HttpHeaders.AUTHORIZATION, busy))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(get("/api/interests").header(HttpHeaders.AUTHORIZATION, token())).andExpect(status().isOk());
+    }
+
+    @Test
+    void tokenBucketRefillsAtItsRate() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+        assertEquals(3, bucket.available(0), 1e-9);
+        for (int i = 0; i < 3; i++) assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND / 2, bucket.tryAcquire(0));
+        bucket.refund();
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND / 2, bucket.tryAcquire(0));
+
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+        assertEquals(SECOND / 4, bucket.tryAcquire(SECOND * 3 / 4));
+    }
+
+    @Test
+    void requestsTurnedAwayLaterKeepTheirClientTokens() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionControlFilter filter = new AdmissionControlFilter(null, registry,
+                Map.of(EndpointClass.DEFAULT, new Limits(0, 1, null, 0.001, 1)), Duration.ofSeconds(1),
+                new ClientLimits(0, 0), new ClientLimits(0.001, 2), 100, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/interests"), new MockHttpServletResponse(),
+                    new MockFilterChain());
+        }
+
+        // the class bucket turns away all but the first; the address's own two tokens are never used up
+        assertEquals(4, registry.get("recco.admission.rejected").tags("reason", "rate").counter().count());
+        assertNull(registry.find("recco.admission.rejected").tags("reason", "ip").counter());
+    }
+
+    @Test
+    void concurrencyLimitBacksOffWhenSlowAndRecovers() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 10, SECOND / 10, SECOND, 0);
+        for (int i = 0; i < 10; i++) assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        // a window of requests over the 100ms target; the limit is adjusted on the first release after it
+        for (int i = 0; i < 9; i++) limit.release(SECOND / 2, SECOND / 2);
+        limit.release(SECOND / 2, SECOND);
+        assertEquals(9, limit.limit());
+
+        // fast again, and the limit is being reached
+        for (int i = 0; i < 9; i++) assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        for (int i = 0; i < 8; i++) limit.release(SECOND / 100, SECOND * 3 / 2);
+        limit.release(SECOND / 100, 2 * SECOND);
+        assertEquals(10, limit.limit());
+    }
+
+    private ResultActions login() throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@recco.local\",\"password\":\"wrong\"}"));
+    }
+
+    private String token() {
+        User user = new User();
+        user.setName("Admitted");
+        user.setEmail("admitted-" + UUID.randomUUID() + "@recco.local");
+        user.setPassword("x");
+        userRepository.save(user);
+        return "Bearer " + jwtUtils.generateToken(user.getEmail());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.recco.Config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(2, Duration.ofMillis(10));
+
+    @Test
+    void synchronousRequestsReleaseTheirPermitOnReturn() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users"), new MockHttpServletResponse(),
+                (request, response) -> assertEquals(1, filter.availablePermits()));
+        assertEquals(2, filter.availablePermits());
+    }
+
+    @Test
+    void asyncRequestsHoldTheirPermitUntilComplete() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertEquals(1, filter.availablePermits());
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(2, filter.availablePermits());
+    }
+
+    @Test
+    void eventStreamsDoNotHoldAPermit() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/interests/BOOKS/stream");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertEquals(2, filter.availablePermits());
+
+        // completing the stream later must not release a second time
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(2, filter.availablePermits());
+    }
+
+    @Test
+    void requestsOverTheLimitGet503() throws Exception {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/users");
+        first.setAsyncSupported(true);
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/api/users");
+        second.setAsyncSupported(true);
+        filter.doFilter(first, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        filter.doFilter(second, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users"), rejected, (req, res) -> {});
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.recco.Config;
+
+import com.example.recco.Config.ReplicaRoutingDataSource.Selection;
+import com.example.recco.Model.DTO.PostDto;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.User;
+import com.example.recco.Model.UserInterest;
+import com.example.recco.Repository.UserInterestRepository;
+import com.example.recco.Repository.UserRepository;
+import com.example.recco.Service.UserService;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// separate in-memory databases stand in for the primary and the replicas; each knows its own name
+class ReplicaRoutingDataSourceTest {
+
+    private final List<ReplicaRoutingDataSource> routings = new ArrayList<>();
+    private final AtomicBoolean pinned = new AtomicBoolean();
+
+    @AfterEach
+    void close() {
+        routings.forEach(ReplicaRoutingDataSource::close);
+    }
+
+    @Test
+    void readOnlyConnectionsRotateOverTheReplicas() throws SQLException {
+        DataSource routing = routing(Selection.ROUND_ROBIN, node("primary"), node("replica-1"), node("replica-2"));
+
+        assertEquals("primary", query(routing, false));
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"),
+                List.of(query(routing, true), query(routing, true), query(routing, true)));
+    }
+
+    @Test
+    void leastLoadedAvoidsTheBusyReplica() throws SQLException {
+        DataSource routing = routing(Selection.LEAST_LOADED, node("primary"), node("replica-1"), node("replica-2"));
+
+        try (Connection busy = routing.getConnection()) {
+            busy.setReadOnly(true);
+            assertEquals("replica-1", name(busy));
+            assertEquals("replica-2", query(routing, true));
+        }
+    }
+
+    @Test
+    void unavailableReplicasFallBackToThePrimary() throws SQLException {
+        DataSource oneDown = routing(Selection.ROUND_ROBIN, node("primary"), down(), node("replica-2"));
+        assertEquals(List.of("replica-2", "replica-2"), List.of(query(oneDown, true), query(oneDown, true)));
+
+        DataSource allDown = routing(Selection.ROUND_ROBIN, node("primary"), down());
+        assertEquals("primary", query(allDown, true));
+    }
+
+    @Test
+    void recentWritersReadFromThePrimary() throws SQLException {
+        DataSource routing = routing(Selection.ROUND_ROBIN, node("primary"), node("replica-1"));
+
+        pinned.set(true);
+        assertEquals("primary", query(routing, true));
+        pinned.set(false);
+        assertEquals("replica-1", query(routing, true));
+    }
+
+    /**
+     * The replica is the primary's own database, reading from a "lagging" schema ahead of the live one:
+     * a table copied there is what the replica still has, and dropping the copy lets it catch up.
+     */
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.datasource.url=jdbc:h2:mem:recco-lagging;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+            "recco.replicas.urls=jdbc:h2:mem:recco-lagging;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;"
+                    + "INIT=CREATE SCHEMA IF NOT EXISTS lagging\\\\;SET SCHEMA lagging\\\\;SET SCHEMA_SEARCH_PATH public"})
+    @ActiveProfiles("h2")
+    class LaggingReplica {
+
+        @Autowired private UserRepository userRepository;
+        @Autowired private UserInterestRepository userInterestRepository;
+        @Autowired private UserService userService;
+        @Autowired private EntityManagerFactory entityManagerFactory;
+        @Autowired private DataSource dataSource;
+
+        @Test
+        void staleReadsAreNotCached() {
+            User user = new User();
+            user.setName("Lagging");
+            user.setEmail("lagging-" + UUID.randomUUID() + "@recco.local");
+            user.setPassword("x");
+            user = userRepository.save(user);
+            UserInterest post = new UserInterest();
+            post.setUser(user);
+            post.setInterestType(InterestType.BOOKS);
+            post.setTitle("Lagging title");
+            post.setDescription("before");
+            post = userInterestRepository.save(post);
+
+            JdbcTemplate primary = new JdbcTemplate(dataSource);
+            primary.execute("create table lagging.user_interests as select * from user_interests");
+            try {
+                userService.updateUserInterestDescription(post.getId(), "after");
+                // another instance's invalidation, or eviction, leaves the next read to the database
+                entityManagerFactory.getCache().evictAll();
+
+                assertEquals("before", description(user.getId()));
+                assertEquals("before", userInterestRepository.findById(post.getId()).orElseThrow().getDescription());
+            } finally {
+                primary.execute("drop table lagging.user_interests");
+            }
+
+            assertEquals("after", description(user.getId()));
+            assertEquals("after", userInterestRepository.findById(post.getId()).orElseThrow().getDescription());
+        }
+
+        private String description(UUID userId) {
+            List<PostDto> posts = userService.getUserInterestsById(userId);
+            assertEquals(1, posts.size());
+            return posts.get(0).description();
+        }
+    }
+
+    private DataSource routing(Selection selection, HikariDataSource primary, HikariDataSource... replicas) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replicas), selection,
+                Duration.ofMinutes(1), pinned::get);
+        routings.add(routing);
+        return routing;
+    }
+
+    // what a transaction does: mark the connection read-only (or not) before its first statement
+    private static String query(DataSource dataSource, boolean readOnly) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            return name(connection);
+        }
+    }
+
+    private static String name(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select name from node")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static HikariDataSource node(String name) throws SQLException {
+        HikariDataSource dataSource = pool("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", name, 5000);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table node(name varchar(20))");
+            statement.execute("insert into node values ('" + name + "')");
+        }
+        return dataSource;
+    }
+
+    private static HikariDataSource down() {
+        return pool("jdbc:h2:tcp://127.0.0.1:1/mem:nowhere", "down", 250);
+    }
+
+    private static HikariDataSource pool(String url, String name, long connectionTimeout) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setPoolName(name + "-" + UUID.randomUUID());
+        config.setMaximumPoolSize(2);
+        config.setConnectionTimeout(connectionTimeout);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.recco.Config;
+
+import com.example.recco.Model.DTO.UserInterestSummary;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.User;
+import com.example.recco.Model.UserInterest;
+import com.example.recco.Repository.UserInterestRepository;
+import com.example.recco.Repository.UserRepository;
+import com.example.recco.Service.UserService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class SecondLevelCacheTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private UserInterestRepository userInterestRepository;
+    @Autowired private UserService userService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private User user;
+    private UserInterest post;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = new User();
+        user.setName("Cached");
+        user.setEmail("cached-" + UUID.randomUUID() + "@recco.local");
+        user.setPassword("x");
+        user = userRepository.save(user);
+
+        post = new UserInterest();
+        post.setUser(user);
+        post.setInterestType(InterestType.BOOKS);
+        post.setTitle("Cached title");
+        post.setDescription("before");
+        post = userInterestRepository.save(post);
+    }
+
+    @Test
+    void emailLookupsRunNoSqlOnceCached() {
+        userRepository.findByEmail(user.getEmail()).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(user.getId(), userRepository.findByEmail(user.getEmail()).orElseThrow().getId());
+        assertEquals(user.getId(), userRepository.findById(user.getId()).orElseThrow().getId());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+
+        Gauge ratio = meterRegistry.find("recco.cache.hit.ratio").tag("region", "users-by-email").gauge();
+        assertNotNull(ratio);
+        assertTrue(ratio.value() > 0);
+    }
+
+    @Test
+    void finderResultsAreCachedUntilAPostChanges() {
+        userInterestRepository.findSummariesByUserId(user.getId());
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals("before", descriptions().get(0));
+        assertEquals(statements, statistics.getPrepareStatementCount());
+
+        userService.updateUserInterestDescription(post.getId(), "after");
+        assertEquals(List.of("after"), descriptions());
+
+        userInterestRepository.deleteById(post.getId());
+        assertEquals(List.of(), descriptions());
+    }
+
+    private List<String> descriptions() {
+        return userInterestRepository.findSummariesByUserId(user.getId()).stream()
+                .map(UserInterestSummary::getDescription)
+                .toList();
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.recco.Config;
+
+import com.example.recco.Auth.JwtUtils;
+import com.example.recco.Component.RecentActivity;
+import com.example.recco.Controller.AuthController;
+import com.example.recco.Controller.InterestController;
+import com.example.recco.Controller.UserController;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.User;
+import com.example.recco.Model.UserInterest;
+import com.example.recco.Repository.UserInterestRepository;
+import com.example.recco.Repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every endpoint is exercised once with recco.sql-budget.fail-on-exceed on (h2 profile),
+ * so a handler that starts issuing more statements than its @SqlBudget fails this test.
+ */
+// a small feed ring so the feed endpoint is exercised both from memory and from the database
+@SpringBootTest(properties = "recco.feed.hot-size=5")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Import(SqlBudgetTest.ProbeController.class)
+class SqlBudgetTest {
+
+    @RestController
+    static class ProbeController {
+        @Autowired private UserRepository userRepository;
+
+        @SqlBudget(0)
+        @GetMapping("/api/test/sql-budget-probe")
+        long probe() {
+            return userRepository.count();
+        }
+    }
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private UserInterestRepository userInterestRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private JwtUtils jwtUtils;
+    @Autowired private RecentActivity recentActivity;
+
+    private User user;
+    private String token;
+    private List<UserInterest> interests;
+
+    @BeforeEach
+    void seed() {
+        user = new User();
+        user.setName("Budget");
+        user.setEmail("budget-" + UUID.randomUUID() + "@recco.local");
+        user.setPassword(passwordEncoder.encode("secret"));
+        user.getDashboardInterests().add(InterestType.BOOKS);
+        user = userRepository.save(user);
+
+        List<UserInterest> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            UserInterest ui = new UserInterest();
+            ui.setUser(user);
+            ui.setInterestType(InterestType.values()[i % InterestType.values().length]);
+            ui.setTitle("Budget title " + i);
+            ui.setDescription("seed");
+            rows.add(ui);
+        }
+        interests = userInterestRepository.saveAll(rows);
+        recentActivity.rebuild();
+        token = jwtUtils.generateToken(user.getEmail());
+    }
+
+    @Test
+    void endpointsStayWithinBudget() throws Exception {
+        UUID id = user.getId();
+        ok(get("/api/users"));
+        ok(get("/api/users/id/" + id));
+        ok(get("/api/users/name/Budget"));
+        ok(get("/api/users/" + id + "/dashboard"));
+        ok(get("/api/users/" + id + "/similar"));
+        ok(get("/api/users/interests/" + id));
+        ok(get("/api/interests/BOOKS/posts").param("limit", "5"));
+        ok(get("/api/interests/BOOKS/posts").param("limit", "5").param("include", "users"));
+        ok(get("/api/interests/BOOKS/posts").param("userId", id.toString()));
+        ok(get("/api/interests"));
+        ok(get("/api/interests/BOOKS/feed").param("limit", "5"));
+        ok(get("/api/interests/BOOKS/feed").param("limit", "10"));
+        ok(get("/api/interests/BOOKS/feed").param("limit", "10").param("include", "users"));
+        ok(get("/api/interests/search").param("q", "budget"));
+        ok(get("/api/interests/BOOKS/recommendations").param("title", "Budget title 0"));
+        ok(get("/api/interests/BOOKS/trending").param("window", "1h"));
+        ok(get("/api/interests/BOOKS/stream").header("Last-Event-ID", "1"));
+        ok(post("/api/users/interests").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"code\":\"GAMES\",\"label\":\"Added\",\"description\":\"d\"}"));
+        ok(post("/api/users/interests/batch").contentType(MediaType.APPLICATION_JSON)
+                .content(batch(200)));
+        ok(put("/api/users/interests/" + interests.get(0).getId() + "/description")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"changed\"}"));
+        mockMvc.perform(delete("/api/users/interests/" + interests.get(1).getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + user.getEmail() + "\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk());
+    }
+
+    // their SQL runs after the hand-off on other threads, so no budget (not even a class-level one) applies
+    @Test
+    void asyncHandlersAreNotChecked() {
+        assertTrue(isAsync(AuthController.class, "login"));
+        assertTrue(isAsync(UserController.class, "getAllUsers"));
+        assertTrue(isAsync(InterestController.class, "stream"));
+        assertFalse(isAsync(UserController.class, "getUsersPage"));
+    }
+
+    @Test
+    void handlerOverBudgetFails() {
+        Exception e = assertThrows(Exception.class, () -> mockMvc.perform(
+                get("/api/test/sql-budget-probe").header("Authorization", "Bearer " + token)));
+        Throwable cause = e;
+        while (cause.getCause() != null && !(cause instanceof SqlBudgetExceededException)) cause = cause.getCause();
+        assertInstanceOf(SqlBudgetExceededException.class, cause);
+    }
+
+    private void ok(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request.header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+    }
+
+    private static String batch(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"code\":\"BOOKS\",\"label\":\"Imported ").append(i).append("\",\"description\":\"d\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static boolean isAsync(Class<?> controller, String name) {
+        Method method = Arrays.stream(controller.getDeclaredMethods())
+                .filter(m -> m.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+        return SqlBudgetInterceptor.isAsync(new HandlerMethod(new Object(), method));
+    }
+}
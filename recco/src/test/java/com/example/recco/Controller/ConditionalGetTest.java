@@ -0,0 +1,98 @@
+package com.example.recco.Controller;
+
+import com.example.recco.Auth.JwtUtils;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.User;
+import com.example.recco.Repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ConditionalGetTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private JwtUtils jwtUtils;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        user = new User();
+        user.setName("Etag");
+        user.setEmail("etag-" + UUID.randomUUID() + "@recco.local");
+        user.setPassword(passwordEncoder.encode("secret"));
+        user.getDashboardInterests().add(InterestType.BOOKS);
+        user = userRepository.save(user);
+        token = jwtUtils.generateToken(user.getEmail());
+    }
+
+    @Test
+    void userInterestsAre304UntilTheUserPosts() throws Exception {
+        String path = "/api/users/interests/" + user.getId();
+        String etag = etagOf(path);
+        notModified(path, etag);
+
+        addInterest();
+        assertNotEquals(etag, etagOf(path));
+    }
+
+    @Test
+    void catalogIs304UntilStatsChange() throws Exception {
+        String etag = etagOf("/api/interests");
+        notModified("/api/interests", etag);
+
+        addInterest();
+        assertNotEquals(etag, etagOf("/api/interests"));
+    }
+
+    @Test
+    void dashboardIs304() throws Exception {
+        String path = "/api/users/" + user.getId() + "/dashboard";
+        notModified(path, etagOf(path));
+    }
+
+    private String etagOf(String path) throws Exception {
+        String etag = mockMvc.perform(auth(get(path)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private void notModified(String path, String etag) throws Exception {
+        mockMvc.perform(auth(get(path)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private void addInterest() throws Exception {
+        mockMvc.perform(auth(post("/api/users/interests")).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\":\"BOOKS\",\"label\":\"New\",\"description\":\"d\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder auth(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.recco.Controller;
+
+import com.example.recco.Auth.JwtUtils;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.User;
+import com.example.recco.Model.UserInterest;
+import com.example.recco.Repository.UserInterestRepository;
+import com.example.recco.Repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class PostWireFormatTest {
+
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final String CBOR = "application/cbor";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private UserInterestRepository userInterestRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private JwtUtils jwtUtils;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        user = new User();
+        user.setName("Wire");
+        user.setSurname("Format");
+        user.setEmail("wire-" + UUID.randomUUID() + "@recco.local");
+        user.setPassword(passwordEncoder.encode("secret"));
+        user = userRepository.save(user);
+        token = jwtUtils.generateToken(user.getEmail());
+
+        UserInterest ui = new UserInterest();
+        ui.setUser(user);
+        ui.setInterestType(InterestType.PODCASTS);
+        ui.setTitle("Wire title");
+        ui.setDescription("d");
+        userInterestRepository.save(ui);
+    }
+
+    @Test
+    void postsReferenceTheirOwnerById() throws Exception {
+        JsonNode posts = JsonMapper.builder().build().readTree(fetch("/api/users/interests/" + user.getId(), "application/json"));
+        assertEquals(user.getId().toString(), posts.get(0).get("userId").asString());
+        assertFalse(posts.get(0).has("user"));
+    }
+
+    @Test
+    void includeUsersSideLoadsEachOwnerOnce() throws Exception {
+        JsonNode page = JsonMapper.builder().build()
+                .readTree(fetch("/api/interests/PODCASTS/posts?limit=100&include=users", "application/json"));
+        assertEquals("Wire", page.get("users").get(user.getId().toString()).get("name").asString());
+        assertFalse(page.get("users").get(user.getId().toString()).has("email"));
+
+        JsonNode plain = JsonMapper.builder().build().readTree(fetch("/api/interests/PODCASTS/posts?limit=100", "application/json"));
+        assertFalse(plain.has("users"));
+    }
+
+    @Test
+    void binaryFormatsThroughAccept() throws Exception {
+        String path = "/api/users/interests/" + user.getId();
+        JsonNode smile = SmileMapper.builder().build().readTree(fetch(path, SMILE));
+        JsonNode cbor = CBORMapper.builder().build().readTree(fetch(path, CBOR));
+        assertEquals("Wire title", smile.get(0).get("title").asString());
+        assertEquals(smile, cbor);
+    }
+
+    private byte[] fetch(String path, String accept) throws Exception {
+        return mockMvc.perform(get(path).header("Authorization", "Bearer " + token).accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
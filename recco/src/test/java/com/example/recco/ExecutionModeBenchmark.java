@@ -0,0 +1,111 @@
+package com.example.recco;
+
+import com.example.recco.Auth.JwtUtils;
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.User;
+import com.example.recco.Model.UserInterest;
+import com.example.recco.Repository.UserInterestRepository;
+import com.example.recco.Repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput and p99 of the dashboard and posts endpoints under concurrent clients.
+ * Subclasses start the app in platform-thread or virtual-thread mode; run with -Pbenchmark.
+ */
+@Tag("benchmark")
+abstract class ExecutionModeBenchmark {
+
+    private static final int CLIENTS = 64;
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+    private static final Duration MEASURE = Duration.ofSeconds(5);
+
+    @LocalServerPort private int port;
+    @Autowired private UserRepository userRepository;
+    @Autowired private UserInterestRepository userInterestRepository;
+    @Autowired private JwtUtils jwtUtils;
+
+    abstract String mode();
+
+    @Test
+    void dashboardAndPosts() throws Exception {
+        User user = new User();
+        user.setName("bench");
+        user.setEmail("bench-" + mode() + "@recco.local");
+        user.setPassword("x");
+        user = userRepository.save(user);
+        List<UserInterest> rows = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            UserInterest ui = new UserInterest();
+            ui.setUser(user);
+            ui.setInterestType(InterestType.BOOKS);
+            ui.setTitle("Book " + i);
+            ui.setDescription("Synthetic post " + i);
+            rows.add(ui);
+        }
+        userInterestRepository.saveAll(rows);
+        String token = jwtUtils.generateToken(user.getEmail());
+
+        measure("dashboard", "/api/users/" + user.getId() + "/dashboard", token);
+        measure("posts", "/api/interests/BOOKS/posts?limit=50", token);
+    }
+
+    private void measure(String name, String path, String token) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(CLIENTS)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET().build();
+
+        run(client, request, WARMUP);
+        Result result = run(client, request, MEASURE);
+        System.out.printf(Locale.ROOT, "execution-mode: mode=%s endpoint=%s clients=%d throughput=%.0f req/s p50=%.2fms p99=%.2fms errors=%d%n",
+                mode(), name, CLIENTS, result.count() / (double) MEASURE.toSeconds(), result.p50Ms(), result.p99Ms(), result.errors());
+        assertEquals(0, result.errors());
+    }
+
+    private Result run(HttpClient client, HttpRequest request, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) errors.incrementAndGet();
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - start);
+                }
+                return null;
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length == 0) return new Result(0, 0, 0, errors.get());
+        return new Result(sorted.length,
+                sorted[(int) (sorted.length * 0.50)] / 1e6,
+                sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.99) - 1)] / 1e6,
+                errors.get());
+    }
+
+    private record Result(int count, double p50Ms, double p99Ms, int errors) {}
+}
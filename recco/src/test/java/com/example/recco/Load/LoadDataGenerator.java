@@ -0,0 +1,86 @@
+package com.example.recco.Load;
+
+import com.example.recco.Model.InterestType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Synthetic users and user_interests written straight through JDBC batches, since going through
+ * JPA for a million rows would take longer than the load test itself.
+ * Interest i belongs to user i % users, so the driver knows which ids each user owns.
+ * Rows bypass UserService, so the in-memory indexes built at startup don't see them.
+ */
+final class LoadDataGenerator {
+
+    static final String PASSWORD = "loadtest-password";
+    private static final int BATCH = 1_000;
+    private static final Duration SPREAD = Duration.ofDays(30);
+
+    private final JdbcTemplate jdbc;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    LoadDataGenerator(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    static String email(int user) {
+        return "load" + user + "@recco.local";
+    }
+
+    // interest ids are 1..interests
+    static long interestId(int user, int nth, int users) {
+        return user + 1 + (long) nth * users;
+    }
+
+    /**
+     * Inserts the users (all sharing one password hash) and returns their ids by index.
+     */
+    List<UUID> users(int count, String passwordHash) {
+        List<UUID> ids = new ArrayList<>(count);
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            ids.add(id);
+            batch.add(new Object[]{id, "Load", "User" + i, email(i), passwordHash});
+            if (batch.size() == BATCH || i == count - 1) {
+                jdbc.batchUpdate("insert into users (id, name, surname, email, password) values (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts interests round-robin over the users, created over the last 30 days,
+     * then moves the id sequence past them.
+     */
+    void interests(int count, List<UUID> users) {
+        InterestType[] types = InterestType.values();
+        Instant now = Instant.now();
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            InterestType type = types[random.nextInt(types.length)];
+            Timestamp createdAt = Timestamp.from(now.minusMillis(random.nextLong(SPREAD.toMillis())));
+            batch.add(new Object[]{(long) i + 1, users.get(i % users.size()), type.name(),
+                    "Title " + random.nextInt(count / 20 + 1), "Generated description " + i,
+                    String.valueOf(1 + random.nextInt(5)), createdAt, createdAt});
+            if (batch.size() == BATCH || i == count - 1) {
+                jdbc.batchUpdate("""
+                        insert into user_interests
+                            (id, user_id, interest_type, title, description, rating, created_at, updated_at)
+                        values (?, ?, ?, ?, ?, ?, ?, ?)
+                        """, batch);
+                batch.clear();
+            }
+        }
+        // pooled optimizer hands out (value - allocationSize, value], so leave a full block of headroom
+        jdbc.execute("alter sequence user_interests_seq restart with " + (count + 51));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.recco.Load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Closed-loop load: a fixed number of clients, each sending its next request as soon as the
+ * previous one returns. Endpoints run one after another so the SQL statement counter
+ * (Hibernate statistics are global) can be attributed to a single endpoint.
+ */
+final class LoadDriver {
+
+    /**
+     * Builds the next request for a client, or null once that client has nothing left to send.
+     */
+    @FunctionalInterface
+    interface Script {
+        HttpRequest next(int client, int iteration);
+    }
+
+    record Report(String endpoint, int requests, int errors, double throughput,
+                  double p50Ms, double p90Ms, double p99Ms, double maxMs, double statementsPerRequest) {}
+
+    private final HttpClient http;
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+    private final LongSupplier statementCount;
+
+    LoadDriver(int clients, Duration warmup, Duration duration, LongSupplier statementCount) {
+        this.http = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(clients)).build();
+        this.clients = clients;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.statementCount = statementCount;
+    }
+
+    Report run(String endpoint, Script script) throws InterruptedException {
+        // iterations carry on from warmup into the measurement, so scripts that consume rows don't repeat
+        int[] iterations = new int[clients];
+        drive(script, iterations, warmup);
+
+        long statementsBefore = statementCount.getAsLong();
+        Window window = drive(script, iterations, duration);
+        long statements = statementCount.getAsLong() - statementsBefore;
+
+        long[] sorted = window.latencies().stream().mapToLong(Long::longValue).sorted().toArray();
+        int n = sorted.length;
+        return new Report(endpoint, n, window.errors(), n / (window.elapsedNanos() / 1e9),
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                n == 0 ? 0 : sorted[n - 1] / 1e6, n == 0 ? 0 : (double) statements / n);
+    }
+
+    private Window drive(Script script, int[] iterations, Duration length) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + length.toNanos();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = script.next(client, iterations[client]++);
+                    if (request == null) return;
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() / 100 != 2) errors.incrementAndGet();
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - sent);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(length.toSeconds() + 60, TimeUnit.SECONDS);
+        return new Window(latencies, errors.get(), System.nanoTime() - start);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * p) - 1)] / 1e6;
+    }
+
+    static String format(List<Report> reports) {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT,
+                "%-10s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "sql/req"));
+        for (Report r : reports) {
+            out.append(String.format(Locale.ROOT, "%-10s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.endpoint(), r.requests(), r.errors(), r.throughput(),
+                    r.p50Ms(), r.p90Ms(), r.p99Ms(), r.maxMs(), r.statementsPerRequest()));
+        }
+        return out.toString();
+    }
+
+    private record Window(Collection<Long> latencies, int errors, long elapsedNanos) {}
+}
@@ -0,0 +1,138 @@
+package com.example.recco.Load;
+
+import com.example.recco.Auth.JwtUtils;
+import com.example.recco.Component.RecentActivity;
+import com.example.recco.Model.InterestType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test against embedded H2 in PostgreSQL mode: generates the data set, then drives
+ * login, dashboard, posts, feed, add, update and delete in turn and reports throughput, latency
+ * percentiles and SQL statements per request. Run with mvn test -Ploadtest; sizes are set in
+ * application-loadtest.yaml and can be overridden, e.g. -Drecco.loadtest.interests=100000.
+ * The login-burst rows read the feed while other clients log in; running again with
+ * -Drecco.auth.hashing.offload=false shows what bcrypt on the request threads costs everyone else.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"h2", "loadtest"})
+@Tag("loadtest")
+class LoadTest {
+
+    @LocalServerPort private int port;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private JwtUtils jwtUtils;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private RecentActivity recentActivity;
+
+    @Value("${recco.loadtest.users}") private int users;
+    @Value("${recco.loadtest.interests}") private int interests;
+    @Value("${recco.loadtest.clients}") private int clients;
+    @Value("${recco.loadtest.warmup}") private Duration warmup;
+    @Value("${recco.loadtest.duration}") private Duration duration;
+    @Value("${recco.auth.hashing.offload}") private boolean offload;
+
+    @Test
+    void scriptedLoad() throws Exception {
+        LoadDataGenerator generator = new LoadDataGenerator(jdbcTemplate);
+        long start = System.currentTimeMillis();
+        List<UUID> userIds = generator.users(users, passwordEncoder.encode(LoadDataGenerator.PASSWORD));
+        generator.interests(interests, userIds);
+        // the rows went in behind the app's back, so reload the feed ring from them
+        recentActivity.rebuild();
+        System.out.printf(Locale.ROOT, "load-test: generated %d users and %d interests in %d ms%n",
+                users, interests, System.currentTimeMillis() - start);
+
+        // each client acts as one user; its token is minted up front so only the login phase pays for bcrypt
+        String[] tokens = new String[clients];
+        for (int c = 0; c < clients; c++) tokens[c] = jwtUtils.generateToken(LoadDataGenerator.email(c));
+        int ownedPerUser = interests / users;
+        InterestType[] types = InterestType.values();
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LoadDriver driver = new LoadDriver(clients, warmup, duration, stats::getPrepareStatementCount);
+        List<LoadDriver.Report> reports = new ArrayList<>();
+
+        reports.add(driver.run("login", (c, i) -> login(c)));
+        // a second set of clients keeps logging in while the feed, served from memory, is measured;
+        // both rows share one statement counter, so their sql/req covers the two endpoints together
+        LoadDriver loginDriver = new LoadDriver(clients, warmup, duration, stats::getPrepareStatementCount);
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        Future<LoadDriver.Report> logins = background.submit(() -> loginDriver.run("login+feed", (c, i) -> login(c)));
+        reports.add(driver.run("feed+login", (c, i) -> get("/api/interests/" + types[i % types.length] + "/feed?limit=50", tokens[c])));
+        reports.add(logins.get());
+        background.shutdown();
+
+        reports.add(driver.run("dashboard", (c, i) -> get("/api/users/" + userIds.get(c) + "/dashboard", tokens[c])));
+        reports.add(driver.run("posts", (c, i) -> get("/api/interests/" + types[i % types.length] + "/posts?limit=50", tokens[c])));
+        reports.add(driver.run("feed", (c, i) -> get("/api/interests/" + types[i % types.length] + "/feed?limit=50", tokens[c])));
+        reports.add(driver.run("add", (c, i) -> post("/api/users/interests", tokens[c],
+                "{\"code\":\"" + types[i % types.length] + "\",\"label\":\"Load title " + i + "\",\"description\":\"added under load\"}")));
+        reports.add(driver.run("update", (c, i) -> put("/api/users/interests/"
+                        + (1 + ThreadLocalRandom.current().nextInt(interests)) + "/description", tokens[c],
+                "{\"description\":\"updated under load " + i + "\"}")));
+        // each client deletes its own generated rows until it runs out
+        reports.add(driver.run("delete", (c, i) -> i >= ownedPerUser ? null
+                : delete("/api/users/interests/" + LoadDataGenerator.interestId(c, i, users), tokens[c])));
+
+        String report = String.format(Locale.ROOT, "users=%d interests=%d clients=%d duration=%s hashing-offload=%s%n",
+                users, interests, clients, duration, offload) + LoadDriver.format(reports);
+        System.out.print(report);
+        Files.writeString(Path.of("target", "loadtest-report.txt"), report);
+
+        assertTrue(reports.stream().allMatch(r -> r.requests() > 0), "every endpoint should have been exercised");
+    }
+
+    private HttpRequest login(int client) {
+        return post("/api/auth/login", null,
+                "{\"email\":\"" + LoadDataGenerator.email(client) + "\",\"password\":\"" + LoadDataGenerator.PASSWORD + "\"}");
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return request(path, token).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest put(String path, String token, String json) {
+        return request(path, token).header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest delete(String path, String token) {
+        return request(path, token).DELETE().build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+}
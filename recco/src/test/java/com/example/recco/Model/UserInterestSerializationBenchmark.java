@@ -0,0 +1,108 @@
+package com.example.recco.Model;
+
+import com.example.recco.Model.DTO.PostDto;
+import com.example.recco.Model.DTO.PostPage;
+import com.example.recco.Model.DTO.UserSummaryDto;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH: serializing a page of posts. writeList is the old shape, UserInterest rows each with
+ * their embedded User; the others are the PostDto page the posts endpoints return now, in JSON,
+ * with side-loaded users, and in the binary formats offered through Accept.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserInterestSerializationBenchmark {
+
+    // CursorPage.DEFAULT_LIMIT and MAX_LIMIT
+    @Param({"50", "200"})
+    public int size;
+
+    // distinct users among the rows; fewer users means more repeated embedded objects
+    @Param({"10"})
+    public int users;
+
+    private JsonMapper jsonMapper;
+    private ObjectMapper smileMapper;
+    private ObjectMapper cborMapper;
+    private List<UserInterest> rows;
+    private PostPage page;
+    private PostPage pageWithUsers;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        smileMapper = SmileMapper.builder().build();
+        cborMapper = CBORMapper.builder().build();
+        Random random = new Random(42);
+        List<User> owners = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setId(new UUID(random.nextLong(), random.nextLong()));
+            user.setName("Name" + i);
+            user.setSurname("Surname" + i);
+            user.setEmail("user" + i + "@recco.dev");
+            user.setPassword("$2a$10$notARealHashButTheRightLengthForBcryptOutput.....");
+            user.setDashboardInterests(EnumSet.of(InterestType.BOOKS, InterestType.GAMES));
+            owners.add(user);
+        }
+        rows = new ArrayList<>(size);
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < size; i++) {
+            UserInterest ui = new UserInterest();
+            ui.setId((long) i);
+            ui.setUser(owners.get(i % users));
+            ui.setInterestType(InterestType.values()[i % InterestType.values().length]);
+            ui.setTitle("Title number " + i);
+            ui.setDescription("A short description of item " + i + " that is about as long as real ones");
+            ui.setRating(String.valueOf(1 + i % 5));
+            ui.setCreatedAt(now.plusSeconds(i));
+            ui.setUpdatedAt(now.plusSeconds(i));
+            rows.add(ui);
+        }
+        List<PostDto> posts = rows.stream().map(PostDto::of).toList();
+        Map<UUID, UserSummaryDto> summaries = new LinkedHashMap<>();
+        for (User user : owners) {
+            summaries.put(user.getId(), new UserSummaryDto(user.getId(), user.getName(), user.getSurname()));
+        }
+        page = new PostPage(posts, "cursor", null);
+        pageWithUsers = new PostPage(posts, "cursor", summaries);
+    }
+
+    @Benchmark
+    public byte[] writeList() {
+        return jsonMapper.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public byte[] writePostPage() {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writePostPageWithUsers() {
+        return jsonMapper.writeValueAsBytes(pageWithUsers);
+    }
+
+    @Benchmark
+    public byte[] writePostPageSmile() {
+        return smileMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writePostPageCbor() {
+        return cborMapper.writeValueAsBytes(page);
+    }
+}
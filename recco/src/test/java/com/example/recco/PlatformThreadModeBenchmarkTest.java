@@ -0,0 +1,15 @@
+package com.example.recco;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=false")
+@ActiveProfiles("h2")
+class PlatformThreadModeBenchmarkTest extends ExecutionModeBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
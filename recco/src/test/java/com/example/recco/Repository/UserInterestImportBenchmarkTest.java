@@ -0,0 +1,97 @@
+package com.example.recco.Repository;
+
+import com.example.recco.Model.InterestType;
+import com.example.recco.Model.User;
+import com.example.recco.Model.UserInterest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rows per second for importing a library: the old one-POST-per-item path (insert, commit, re-read)
+ * against the batch path (one transaction, sequence ids, JDBC batches). Runs on embedded H2.
+ * Tagged "benchmark": run with mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserInterestImportBenchmarkTest {
+
+    private static final int ROWS = 1_000;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private UserInterestRepository userInterestRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void batchImportBeatsPerItemInserts() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User single = userRepository.save(newUser());
+        stats.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            userInterestRepository.save(newInterest(single, i));
+            userInterestRepository.findInterestTypesByUserId(single.getId());
+        }
+        long perItemNanos = System.nanoTime() - start;
+        long perItemStatements = stats.getPrepareStatementCount();
+
+        User batch = userRepository.save(newUser());
+        List<UserInterest> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) rows.add(newInterest(batch, i));
+        stats.clear();
+        start = System.nanoTime();
+        tx.executeWithoutResult(status -> userInterestRepository.saveAll(rows));
+        long batchNanos = System.nanoTime() - start;
+        long batchStatements = stats.getPrepareStatementCount();
+
+        double perItemRate = ROWS / (perItemNanos / 1e9);
+        double batchRate = ROWS / (batchNanos / 1e9);
+        System.out.printf(Locale.ROOT,
+                "interest-import: rows=%d per-item=%.0f rows/s (%d statements) batch=%.0f rows/s (%d statements)%n",
+                ROWS, perItemRate, perItemStatements, batchRate, batchStatements);
+
+        assertEquals(ROWS, userInterestRepository.findSummariesByUserId(batch.getId()).size());
+        assertTrue(batchStatements < perItemStatements / 10, "inserts were not batched");
+    }
+
+    private static User newUser() {
+        User user = new User();
+        user.setName("bench");
+        user.setEmail(UUID.randomUUID() + "@bench.local");
+        user.setPassword("x");
+        return user;
+    }
+
+    private static UserInterest newInterest(User user, int i) {
+        UserInterest ui = new UserInterest();
+        ui.setUser(user);
+        ui.setInterestType(InterestType.values()[i % InterestType.values().length]);
+        ui.setTitle("Title " + i);
+        ui.setDescription("Imported item " + i);
+        return ui;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.recco.Service;
+
+import com.example.recco.Component.InterestTypeMapper;
+import com.example.recco.Model.DTO.InterestTypeDto;
+import com.example.recco.Model.InterestType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH: InterestTypeMapper.toDto and the dashboard assembly in UserService.
+ * getDashboard returns the list built once in the constructor; buildDashboard is what that costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+
+    private InterestTypeMapper mapper;
+    private UserService userService;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        mapper = new InterestTypeMapper();
+        // repositories are not touched by the dashboard, so they can stay unset
+        userService = new UserService(mapper, mapper);
+        userId = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public void toDtoAllTypes(Blackhole bh) {
+        for (InterestType type : InterestType.values()) {
+            bh.consume(mapper.toDto(type));
+        }
+    }
+
+    @Benchmark
+    public List<InterestTypeDto> buildDashboard() {
+        return userService.buildDashboard();
+    }
+
+    @Benchmark
+    public List<InterestTypeDto> getDashboard() {
+        return userService.getDashboard(userId);
+    }
+}
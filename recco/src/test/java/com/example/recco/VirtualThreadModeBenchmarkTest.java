@@ -0,0 +1,15 @@
+package com.example.recco;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("h2")
+class VirtualThreadModeBenchmarkTest extends ExecutionModeBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -37,7 +37,8 @@ export const userService = {
   },
 
   getAllUsers: async () => {
-    const response = await api.get('/users');
+    // all=true opts into the full (streamed) list instead of one cursor page
+    const response = await api.get('/users', { params: { all: true } });
     return response.data;
   },
 
@@ -75,7 +76,7 @@ export const userService = {
   getInterestPosts: async (code, userId = null) => {
     const url = userId 
       ? `/interests/${code}/posts?userId=${userId}` 
-      : `/interests/${code}/posts`;
+      : `/interests/${code}/posts?all=true`;
     const response = await api.get(url);
     return response.data;
   },